@@ -19,77 +19,1023 @@
  */
 package fr.landel.utils.aop;
 
-import java.text.DateFormat;
-import java.text.SimpleDateFormat;
-import java.util.Calendar;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
 
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.util.StopWatch;
+import org.slf4j.MDC;
+import org.springframework.util.concurrent.ListenableFuture;
+
+import fr.landel.utils.aop.annotation.Profiled;
+import fr.landel.utils.aop.async.AspectEvent;
+import fr.landel.utils.aop.async.AsyncDispatcher;
+import fr.landel.utils.aop.async.OverflowPolicy;
+import fr.landel.utils.aop.exception.AOPException;
+import fr.landel.utils.aop.exception.ExceptionMode;
+import fr.landel.utils.aop.exception.StacklessAOPException;
+import fr.landel.utils.aop.jmx.AspectStatistics;
+import fr.landel.utils.aop.jmx.AspectStatisticsMXBean;
+import fr.landel.utils.aop.reactive.ReactiveSupport;
+import fr.landel.utils.aop.render.ArgumentRenderer;
+import fr.landel.utils.aop.render.ArgumentRendererRegistry;
+import fr.landel.utils.aop.render.ArgumentType;
+import fr.landel.utils.aop.render.ByteArrayMode;
+import fr.landel.utils.aop.render.DateRenderer;
+import fr.landel.utils.aop.render.PrimitiveArrays;
+import fr.landel.utils.aop.render.RenderContext;
+import fr.landel.utils.aop.sampling.RateLimit;
+import fr.landel.utils.aop.sampling.Sampler;
+import fr.landel.utils.aop.sampling.SamplingMode;
+import fr.landel.utils.aop.signature.SignatureEntry;
+import fr.landel.utils.aop.signature.SignatureRegistry;
+import fr.landel.utils.aop.stats.CallTree;
+import fr.landel.utils.aop.stats.HistogramSnapshot;
+import fr.landel.utils.aop.stats.SignatureStatistics;
+import fr.landel.utils.aop.stats.ThreadResources;
+import fr.landel.utils.aop.stats.WindowSnapshot;
+import fr.landel.utils.commons.ArrayUtils;
+import fr.landel.utils.commons.EnumChar;
+
+/**
+ * Abstract aspect.
+ *
+ * @since Nov 27, 2015
+ * @author Gilles
+ *
+ */
+public abstract class AbstractAspect {
+
+    /**
+     * Default timeout in seconds
+     */
+    private static final int MAX_TIMEOUT = 5;
+
+    /**
+     * Property of the slow call threshold of the aspect
+     * (a number followed by an optional unit among {@code ns}, {@code us},
+     * {@code ms}, {@code s}, {@code m} and {@code h}, milliseconds by
+     * default)
+     */
+    public static final String PROPERTY_THRESHOLD = "fr.landel.utils.aop.threshold";
+
+    /**
+     * Property of the sampling mode (see
+     * {@link SamplingMode})
+     */
+    public static final String PROPERTY_SAMPLING_MODE = "fr.landel.utils.aop.sampling.mode";
+
+    /**
+     * Property of the sampling rate (see
+     * {@link Sampler#Sampler(SamplingMode, double)})
+     */
+    public static final String PROPERTY_SAMPLING_RATE = "fr.landel.utils.aop.sampling.rate";
+
+    /**
+     * Property of the maximum number of log lines per
+     * second and per signature
+     */
+    public static final String PROPERTY_LOG_RATE = "fr.landel.utils.aop.log.rate";
+
+    /**
+     * Property of the maximum burst of log lines per
+     * signature (default: 1)
+     */
+    public static final String PROPERTY_LOG_BURST = "fr.landel.utils.aop.log.burst";
+
+    /**
+     * Property of the exception mode (see
+     * {@link ExceptionMode})
+     */
+    public static final String PROPERTY_EXCEPTION_MODE = "fr.landel.utils.aop.exception.mode";
+
+    /**
+     * Property of the resource accounting ({@code true}
+     * or {@code false}, see {@link #setResourceAccounting(boolean)})
+     */
+    public static final String PROPERTY_RESOURCES = "fr.landel.utils.aop.resources";
+
+    /**
+     * JMX domain of the MBeans (see {@link #registerMBean()})
+     */
+    public static final String JMX_DOMAIN = "fr.landel.utils.aop";
+
+    /**
+     * MDC key of the calling thread name (asynchronous pipeline)
+     */
+    public static final String MDC_THREAD = "aopThread";
+
+    /**
+     * MDC key of the call time in milliseconds (asynchronous pipeline)
+     */
+    public static final String MDC_TIMESTAMP = "aopTimestamp";
+
+    /**
+     * Duration pattern (number and optional unit)
+     */
+    private static final Pattern DURATION = Pattern.compile("(\\d+)\\s*(ns|us|ms|s|m|h)?");
+
+    /**
+     * Max logs
+     */
+    private static final int MAX_MULTIPLES_LOG = 10;
+
+    /**
+     * Default maximum length of a signature
+     */
+    public static final int DEFAULT_MAX_SIGNATURE_LENGTH = 8_192;
+
+    /**
+     * Default maximum length of each argument
+     */
+    public static final int DEFAULT_MAX_ARGUMENT_LENGTH = 1_024;
+
+    /**
+     * Cache of class simple names (computed on each call before Java 11)
+     */
+    private static final ClassValue<String> SIMPLE_NAMES = new ClassValue<String>() {
+        @Override
+        protected String computeValue(final Class<?> type) {
+            return type.getSimpleName();
+        }
+    };
+
+    /**
+     * Message pattern of deferred signatures
+     */
+    private static final String MESSAGE = "{}";
+
+    /**
+     * Message pattern of deferred signatures with running time
+     */
+    private static final String MESSAGE_RUNNING_TIME = "{}, running time: {} ms";
+
+    /**
+     * Message pattern of deferred signatures after suppressed lines
+     */
+    private static final String MESSAGE_SUPPRESSED = "{}{}";
+
+    /**
+     * Message pattern of deferred signatures with running time after
+     * suppressed lines
+     */
+    private static final String MESSAGE_RUNNING_TIME_SUPPRESSED = "{}, running time: {} ms{}";
+
+    /**
+     * Suffix of the first line after suppressed lines
+     */
+    private static final String SUPPRESSED = ", \u2026and %,d similar suppressed";
+
+    /**
+     * Message of the profiling exceptions
+     */
+    private static final String PROFILING_ERROR = "Error occurred during profiling ";
+
+    /**
+     * Logger
+     */
+    private final Logger logger;
+
+    /**
+     * Date renderer (thread-safe)
+     */
+    private final DateRenderer dateRenderer;
+
+    /**
+     * If {@link #checkSimpleType(StringBuilder, Object, Class)} is overridden
+     * by a sub class (if so, it's always called first, as before)
+     */
+    private final boolean simpleTypeOverridden;
+
+    /**
+     * If {@link #formatDate(Date)} is overridden by a sub class (if so, dates
+     * are rendered through it, as before)
+     */
+    private final boolean formatDateOverridden;
+
+    /**
+     * If a {@code getSignature} method is overridden by a sub class (if so,
+     * the signatures are rendered through {@link #getSignature(JoinPoint)} on
+     * the calling thread, as before)
+     */
+    private final boolean signatureOverridden;
+
+    /**
+     * The renderers of domain types
+     */
+    private final ArgumentRendererRegistry renderers;
+
+    /**
+     * Rendering mode of byte arrays
+     */
+    private volatile ByteArrayMode byteArrayMode = ByteArrayMode.ELEMENTS;
+
+    /**
+     * Maximum length of a signature
+     */
+    private volatile int maxSignatureLength = DEFAULT_MAX_SIGNATURE_LENGTH;
+
+    /**
+     * Maximum length of each argument
+     */
+    private volatile int maxArgumentLength = DEFAULT_MAX_ARGUMENT_LENGTH;
+
+    /**
+     * Deferred rendering of the signatures
+     */
+    private volatile boolean deferredRendering;
+
+    /**
+     * Recording of the profiled durations per signature
+     */
+    private volatile boolean statisticsEnabled;
+
+    /**
+     * Slow call threshold in nanoseconds (if not defined by a
+     * {@link Profiled} annotation)
+     */
+    private volatile long threshold = TimeUnit.SECONDS.toNanos(MAX_TIMEOUT);
+
+    /**
+     * Sampler of the logged calls
+     */
+    private volatile Sampler sampler = Sampler.ALL;
+
+    /**
+     * Asynchronous pipeline (null if synchronous)
+     */
+    private volatile AsyncDispatcher<AspectEvent> dispatcher;
+
+    /**
+     * Scheduler of the window summaries (null if not aggregated)
+     */
+    private volatile ScheduledExecutorService aggregation;
+
+    /**
+     * Call tree of the nested profiled calls (null if not traced)
+     */
+    private volatile CallTree callTree;
+
+    /**
+     * Profiling of the asynchronous results until their completion
+     */
+    private volatile boolean completionAware = true;
+
+    /**
+     * Measure of the CPU time and allocated bytes of the profiled calls
+     */
+    private volatile boolean resourceAccounting;
+
+    /**
+     * Measure of the blocked and waited times of the profiled calls
+     */
+    private volatile boolean contentionMonitoring;
+
+    /**
+     * Handling of the exceptions of the profiled calls
+     */
+    private volatile ExceptionMode exceptionMode = ExceptionMode.WRAP;
+
+    /**
+     * Rate limit of the log lines per signature (null if unlimited)
+     */
+    private volatile RateLimit logRateLimit;
+
+    /**
+     * Name of the registered MBean (null if not registered)
+     */
+    private volatile ObjectName mbeanName;
+
+    /**
+     * Number of suppressed log lines
+     */
+    private final LongAdder suppressedLines = new LongAdder();
+
+    /**
+     * The signature entries (static parts cached per method and target
+     * class)
+     */
+    private final SignatureRegistry signatures = new SignatureRegistry();
+
+    /**
+     * Constructor.
+     *
+     */
+    public AbstractAspect() {
+        this.logger = LoggerFactory.getLogger(this.getClass());
+
+        this.dateRenderer = new DateRenderer();
+        this.simpleTypeOverridden = this.isOverridden("checkSimpleType", StringBuilder.class, Object.class, Class.class);
+        this.formatDateOverridden = this.isOverridden("formatDate", Date.class);
+        this.signatureOverridden = this.isOverridden("getSignature", JoinPoint.class)
+                || this.isOverridden("getSignature", SignatureEntry.class, Object[].class)
+                || this.isOverridden("getSignature", Class.class, String.class, Object[].class);
+
+        this.renderers = new ArgumentRendererRegistry();
+        this.renderers.loadServices(this.getClass().getClassLoader());
+    }
+
+    private boolean isOverridden(final String name, final Class<?>... parameterTypes) {
+        for (Class<?> clazz = this.getClass(); !AbstractAspect.class.equals(clazz); clazz = clazz.getSuperclass()) {
+            for (Method method : clazz.getDeclaredMethods()) {
+                if (method.getName().equals(name) && Arrays.equals(method.getParameterTypes(), parameterTypes)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Get the logger.
+     * 
+     * @return the logger
+     */
+    public Logger getLogger() {
+        return this.logger;
+    }
+
+    /**
+     * Get the signature entries.
+     * 
+     * @return the signature registry
+     */
+    protected SignatureRegistry getSignatures() {
+        return this.signatures;
+    }
+
+    /**
+     * Register a renderer for a domain type (used instead of
+     * {@link Object#toString()}). Renderers declared through the
+     * {@link java.util.ServiceLoader} are registered at construction.
+     * 
+     * @param renderer
+     *            the renderer
+     */
+    public void registerRenderer(final ArgumentRenderer<?> renderer) {
+        this.renderers.register(renderer);
+    }
+
+    /**
+     * Set the rendering mode of byte arrays ({@link ByteArrayMode#HEX} gives
+     * a compact summary of binary payloads).
+     * 
+     * @param byteArrayMode
+     *            the byte array mode
+     */
+    public void setByteArrayMode(final ByteArrayMode byteArrayMode) {
+        this.byteArrayMode = Objects.requireNonNull(byteArrayMode, "byteArrayMode");
+    }
+
+    /**
+     * Set the maximum length of a signature (with all arguments). Once used
+     * up, the rendering stops and the signature ends with an ellipsis.
+     * 
+     * @param maxSignatureLength
+     *            the maximum number of characters (default:
+     *            {@value #DEFAULT_MAX_SIGNATURE_LENGTH})
+     */
+    public void setMaxSignatureLength(final int maxSignatureLength) {
+        this.maxSignatureLength = checkPositive(maxSignatureLength, "maxSignatureLength");
+    }
+
+    /**
+     * Set the maximum length of each argument. Longer arguments are truncated
+     * and end with an ellipsis.
+     * 
+     * @param maxArgumentLength
+     *            the maximum number of characters (default:
+     *            {@value #DEFAULT_MAX_ARGUMENT_LENGTH})
+     */
+    public void setMaxArgumentLength(final int maxArgumentLength) {
+        this.maxArgumentLength = checkPositive(maxArgumentLength, "maxArgumentLength");
+    }
+
+    /**
+     * Enable the deferred rendering of signatures: the logger receives a
+     * {@link SignatureMessage}, rendered only when the event is formatted,
+     * so never if the event is filtered out. The rendering still happens on
+     * the calling thread (see {@link #startAsync(int, int, OverflowPolicy)}
+     * to move it to background threads). Ignored if a {@code getSignature}
+     * method is overridden.
+     * 
+     * @param deferredRendering
+     *            {@code true} to defer the rendering (default:
+     *            {@code false})
+     */
+    public void setDeferredRendering(final boolean deferredRendering) {
+        this.deferredRendering = deferredRendering;
+    }
+
+    /**
+     * Profile the asynchronous results ({@link CompletionStage}, Spring
+     * {@link ListenableFuture} and reactive publishers) until their
+     * completion. If disabled, only the time to get the result is measured.
+     * 
+     * @param completionAware
+     *            {@code true} to profile until the completion (default:
+     *            {@code true})
+     */
+    public void setCompletionAware(final boolean completionAware) {
+        this.completionAware = completionAware;
+    }
+
+    /**
+     * Measure the CPU time and the allocated bytes of the profiled calls on
+     * their thread, recorded per signature (see {@link #getStatistics()} and
+     * {@link #getAllocationHotspots(int)}). The CPU time and allocated
+     * memory measures of the JVM are enabled, the unsupported ones are
+     * ignored (see {@link ThreadResources}). Each measure costs about the
+     * same as a call to {@link System#nanoTime()} or more, so it's disabled
+     * by default.
+     * 
+     * @param resourceAccounting
+     *            {@code true} to measure the resources (default:
+     *            {@code false})
+     */
+    public void setResourceAccounting(final boolean resourceAccounting) {
+        if (resourceAccounting && !ThreadResources.enableCpuTime()) {
+            this.logger.warn("CPU time measure not supported, ignored");
+        }
+        if (resourceAccounting && !ThreadResources.enableAllocatedBytes()) {
+            this.logger.warn("Allocated memory measure not supported, ignored");
+        }
+        this.resourceAccounting = resourceAccounting;
+    }
+
+    /**
+     * Set how the profiling handles the exceptions of the profiled calls.
+     * 
+     * @param exceptionMode
+     *            the exception mode (default: {@link ExceptionMode#WRAP})
+     */
+    public void setExceptionMode(final ExceptionMode exceptionMode) {
+        this.exceptionMode = Objects.requireNonNull(exceptionMode, "exceptionMode");
+    }
+
+    /**
+     * Enable the recording of the profiled durations into a latency histogram
+     * per signature, even if the debug level is disabled (see
+     * {@link #getLatencies()}).
+     * 
+     * @param statisticsEnabled
+     *            {@code true} to record the durations (default:
+     *            {@code false})
+     */
+    public void setStatisticsEnabled(final boolean statisticsEnabled) {
+        this.statisticsEnabled = statisticsEnabled;
+    }
+
+    /**
+     * @return true, if the statistics are recorded
+     */
+    public boolean isStatisticsEnabled() {
+        return this.statisticsEnabled;
+    }
+
+    /**
+     * Reset the statistics of all signatures (see
+     * {@link SignatureStatistics#reset()}).
+     */
+    public void resetStatistics() {
+        for (SignatureEntry entry : this.signatures.getEntries()) {
+            entry.getStatistics().reset();
+        }
+    }
+
+    /**
+     * Register the MBean of the aspect in the platform MBean server (see
+     * {@link AspectStatisticsMXBean}), the statistics are enabled. The name
+     * is {@code fr.landel.utils.aop:type=AspectStatistics,name=<aspect
+     * class>,id=<identity hash>}. The previous registration is removed.
+     * 
+     * @return the object name
+     * @throws AOPException
+     *             if the registration failed
+     */
+    public synchronized ObjectName registerMBean() throws AOPException {
+        this.unregisterMBean();
+        try {
+            final ObjectName name = new ObjectName(JMX_DOMAIN + ":type=AspectStatistics,name=" + SIMPLE_NAMES.get(this.getClass())
+                    + ",id=" + Integer.toHexString(System.identityHashCode(this)));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(new AspectStatistics(this), name);
+            this.statisticsEnabled = true;
+            this.mbeanName = name;
+            return name;
+        } catch (JMException e) {
+            throw new AOPException(e, "Cannot register the MBean of the aspect");
+        }
+    }
+
+    /**
+     * Unregister the MBean of the aspect (if registered).
+     */
+    public synchronized void unregisterMBean() {
+        final ObjectName previous = this.mbeanName;
+        if (previous != null) {
+            this.mbeanName = null;
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(previous);
+            } catch (JMException e) {
+                this.logger.warn("Cannot unregister the MBean " + previous, e);
+            }
+        }
+    }
+
+    /**
+     * Get the latencies of the profiled signatures (only signatures with at
+     * least one recorded call, durations in nanoseconds). Calls on
+     * signatures beyond the registry capacity are recorded together under
+     * {@value SignatureRegistry#OVERFLOW_NAME}.
+     * 
+     * @return the latency snapshots per signature name
+     */
+    public Map<String, HistogramSnapshot> getLatencies() {
+        final Map<String, HistogramSnapshot> latencies = new LinkedHashMap<>();
+        for (SignatureEntry entry : this.signatures.getEntries()) {
+            final HistogramSnapshot snapshot = entry.getStatistics().getLatencies();
+            if (snapshot.getCount() > 0) {
+                latencies.put(entry.getName(), snapshot);
+            }
+        }
+        return latencies;
+    }
+
+    /**
+     * Get the live statistics of the registered signatures (errors,
+     * cancellations, total and self times).
+     * 
+     * @return the statistics per signature name
+     */
+    public Map<String, SignatureStatistics> getStatistics() {
+        final Map<String, SignatureStatistics> statistics = new LinkedHashMap<>();
+        for (SignatureEntry entry : this.signatures.getEntries()) {
+            statistics.put(entry.getName(), entry.getStatistics());
+        }
+        return statistics;
+    }
+
+    /**
+     * Measure the contention of the profiled calls on their thread: the
+     * number of times and the time they blocked to enter a monitor or
+     * waited (wait, park, sleep), recorded per signature (see
+     * {@link #getStatistics()} and {@link #getContentionHotspots(int)}). The
+     * contention monitoring of the JVM is enabled (if not supported, only the
+     * counts are recorded). Each measure gets the thread information from the
+     * {@link java.lang.management.ThreadMXBean}, so it's disabled by default.
+     * 
+     * @param contentionMonitoring
+     *            {@code true} to measure the contention (default:
+     *            {@code false})
+     */
+    public void setContentionMonitoring(final boolean contentionMonitoring) {
+        if (contentionMonitoring && !ThreadResources.enableContention()) {
+            this.logger.warn("Contention monitoring not supported, only the blocked and waited counts are recorded");
+        }
+        this.contentionMonitoring = contentionMonitoring;
+    }
+
+    /**
+     * Get the signatures allocating the most (see
+     * {@link #setResourceAccounting(boolean)}).
+     * 
+     * @param limit
+     *            the maximum number of signatures
+     * @return the allocated bytes by signature name, in descending order
+     */
+    public Map<String, Long> getAllocationHotspots(final int limit) {
+        return this.getHotspots(limit, SignatureStatistics::getAllocatedBytes);
+    }
+
+    /**
+     * Get the signatures with the most contention (see
+     * {@link #setContentionMonitoring(boolean)}).
+     * 
+     * @param limit
+     *            the maximum number of signatures
+     * @return the blocked and waited time in milliseconds by signature name,
+     *         in descending order
+     */
+    public Map<String, Long> getContentionHotspots(final int limit) {
+        return this.getHotspots(limit, statistics -> statistics.getBlockedTime() + statistics.getWaitedTime());
+    }
+
+    private Map<String, Long> getHotspots(final int limit, final ToLongFunction<SignatureStatistics> metric) {
+        final List<SignatureEntry> entries = new ArrayList<>();
+        for (SignatureEntry entry : this.signatures.getEntries()) {
+            if (metric.applyAsLong(entry.getStatistics()) > 0) {
+                entries.add(entry);
+            }
+        }
+        entries.sort((entry1, entry2) -> Long.compare(metric.applyAsLong(entry2.getStatistics()),
+                metric.applyAsLong(entry1.getStatistics())));
+
+        final Map<String, Long> hotspots = new LinkedHashMap<>();
+        for (SignatureEntry entry : entries.subList(0, Math.min(limit, entries.size()))) {
+            hotspots.put(entry.getName(), metric.applyAsLong(entry.getStatistics()));
+        }
+        return hotspots;
+    }
+
+    /**
+     * Set the slow call threshold: profiled calls running longer are logged
+     * with their running time. Methods and classes annotated with
+     * {@link Profiled} define their own threshold.
+     * 
+     * @param threshold
+     *            the threshold (default: {@value #MAX_TIMEOUT} seconds)
+     * @param unit
+     *            the unit of the threshold
+     */
+    public void setThreshold(final long threshold, final TimeUnit unit) {
+        if (threshold < 0) {
+            throw new IllegalArgumentException("threshold cannot be negative");
+        }
+        this.threshold = Objects.requireNonNull(unit, "unit").toNanos(threshold);
+    }
+
+    /**
+     * Get the slow call threshold of the aspect.
+     * 
+     * @param unit
+     *            the unit
+     * @return the threshold in the unit
+     */
+    public long getThreshold(final TimeUnit unit) {
+        return Objects.requireNonNull(unit, "unit").convert(this.threshold, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Set the sampling of the logged calls. Calls not sampled aren't logged.
+     * The profiling isn't sampled: all calls are recorded in the statistics
+     * (so the histograms and throughputs aren't biased) and the slow calls
+     * are always logged.
+     * 
+     * @param mode
+     *            the sampling mode (default: {@link SamplingMode#ALL})
+     * @param rate
+     *            the sampling rate (see
+     *            {@link Sampler#Sampler(SamplingMode, double)})
+     */
+    public void setSampling(final SamplingMode mode, final double rate) {
+        this.sampler = SamplingMode.ALL.equals(mode) ? Sampler.ALL : new Sampler(mode, rate);
+    }
+
+    /**
+     * @return the current sampler
+     */
+    public Sampler getSampler() {
+        return this.sampler;
+    }
+
+    /**
+     * Limit the log lines per signature (logged and slow profiled calls),
+     * with a token bucket checked before the signature rendering. The number
+     * of suppressed lines is appended to the next line of the signature
+     * ("…and 4,312 similar suppressed").
+     * 
+     * @param permitsPerSecond
+     *            the maximum number of lines per second and per signature
+     *            (0 to disable the limit, default)
+     * @param burst
+     *            the maximum burst of lines per signature (at least 1)
+     */
+    public void setLogRateLimit(final double permitsPerSecond, final int burst) {
+        this.logRateLimit = permitsPerSecond == 0 ? null : new RateLimit(permitsPerSecond, burst);
+    }
 
-import fr.landel.utils.aop.exception.AOPException;
-import fr.landel.utils.commons.ArrayUtils;
-import fr.landel.utils.commons.DateUtils;
-import fr.landel.utils.commons.EnumChar;
+    /**
+     * @return the rate limit of the log lines per signature (null if
+     *         unlimited)
+     */
+    public RateLimit getLogRateLimit() {
+        return this.logRateLimit;
+    }
 
-/**
- * Abstract aspect.
- *
- * @since Nov 27, 2015
- * @author Gilles
- *
- */
-public abstract class AbstractAspect {
+    /**
+     * @return the total number of log lines suppressed by the rate limit
+     */
+    public long getSuppressedLines() {
+        return this.suppressedLines.sum();
+    }
 
     /**
-     * Timeout in seconds
+     * Acquire a log line permit.
+     * 
+     * @param limit
+     *            the rate limit
+     * @param entry
+     *            the signature entry
+     * @return the number of lines suppressed before, or -1 if suppressed
      */
-    private static final int MAX_TIMEOUT = 5;
+    private long acquireLine(final RateLimit limit, final SignatureEntry entry) {
+        if (!entry.getLogLimiter().tryAcquire(System.nanoTime(), limit)) {
+            this.suppressedLines.increment();
+            return -1;
+        }
+        return entry.getLogLimiter().drainSuppressed();
+    }
+
+    private static String suppressed(final long count) {
+        return String.format(Locale.ROOT, SUPPRESSED, count);
+    }
 
     /**
-     * Max logs
+     * Start the asynchronous pipeline: logged and slow profiled calls are
+     * published as events (signature prefix, arguments snapshot, time and
+     * running time) into a preallocated ring buffer, and formatted and
+     * logged by background consumers. The calling thread name and the call
+     * time are put into the MDC ({@link #MDC_THREAD} and
+     * {@link #MDC_TIMESTAMP}). The events are logged in order only with one
+     * consumer. If a {@code getSignature} method is overridden, the
+     * signature is rendered by the calling thread. The previous pipeline is
+     * stopped.
+     * 
+     * @param capacity
+     *            the capacity of the ring buffer (rounded to the next power of
+     *            two)
+     * @param consumers
+     *            the number of consumer threads
+     * @param policy
+     *            the overflow policy
      */
-    private static final int MAX_MULTIPLES_LOG = 10;
+    public synchronized void startAsync(final int capacity, final int consumers, final OverflowPolicy policy) {
+        this.stopAsync();
+        this.dispatcher = new AsyncDispatcher<>("utils-aop-" + SIMPLE_NAMES.get(this.getClass()), capacity, AspectEvent::new,
+                this::handle, consumers, policy);
+    }
 
     /**
-     * Logger
+     * Stop the asynchronous pipeline, once the published events are logged.
      */
-    private final Logger logger;
+    public synchronized void stopAsync() {
+        final AsyncDispatcher<AspectEvent> previous = this.dispatcher;
+        if (previous != null) {
+            this.dispatcher = null;
+            previous.close();
+        }
+    }
 
     /**
-     * Date time format
+     * @return the number of events dropped by the current asynchronous
+     *         pipeline
      */
-    private DateFormat dtf;
+    public long getDroppedEvents() {
+        final AsyncDispatcher<AspectEvent> current = this.dispatcher;
+        return current != null ? current.getDropped() : 0;
+    }
+
+    private void publish(final AsyncDispatcher<AspectEvent> async, final SignatureEntry entry, final JoinPoint joinPoint,
+            final long elapsed, final long suppressed) {
+        final long sequence = async.claim();
+        if (sequence >= 0) {
+            final AspectEvent event = async.get(sequence);
+            if (this.signatureOverridden) {
+                event.set(this.getSignature(joinPoint), null, System.currentTimeMillis(), elapsed, Thread.currentThread().getName(),
+                        suppressed);
+                event.setRendered(true);
+            } else {
+                event.set(getPrefix(entry, joinPoint), joinPoint.getArgs(), System.currentTimeMillis(), elapsed,
+                        Thread.currentThread().getName(), suppressed);
+            }
+            async.publish(sequence);
+        }
+    }
+
+    private void handle(final AspectEvent event) {
+        MDC.put(MDC_THREAD, event.getThreadName());
+        MDC.put(MDC_TIMESTAMP, String.valueOf(event.getTimestamp()));
+        try {
+            final String signature = event.isRendered() ? event.getPrefix() : this.getSignature(event.getPrefix(), event.getArgs());
+            final String suffix = event.getSuppressed() > 0 ? suppressed(event.getSuppressed()) : "";
+            if (event.getElapsed() == AspectEvent.NOT_PROFILED) {
+                this.logger.debug(signature + suffix);
+            } else {
+                this.logger.debug(MESSAGE_RUNNING_TIME_SUPPRESSED, signature, TimeUnit.NANOSECONDS.toMillis(event.getElapsed()), suffix);
+            }
+        } finally {
+            MDC.remove(MDC_THREAD);
+            MDC.remove(MDC_TIMESTAMP);
+            event.clear();
+        }
+    }
 
     /**
-     * Date format
+     * Start the aggregation: the profiled calls are aggregated per signature
+     * (count, errors, min, mean and max), and one summary line per active
+     * signature is logged at the end of each window, instead of the slow
+     * call lines. The previous aggregation is stopped.
+     * 
+     * @param period
+     *            the window period
+     * @param unit
+     *            the unit of the period
      */
-    private DateFormat df;
+    public synchronized void startAggregation(final long period, final TimeUnit unit) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("period must be positive");
+        }
+        this.stopAggregation();
+
+        final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "utils-aop-aggregation-" + SIMPLE_NAMES.get(this.getClass()));
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(this::reportWindows, period, period, unit);
+        this.aggregation = scheduler;
+    }
 
     /**
-     * Constructor.
-     *
+     * Stop the aggregation, the current window is reported.
      */
-    public AbstractAspect() {
-        this.logger = LoggerFactory.getLogger(this.getClass());
+    public synchronized void stopAggregation() {
+        final ScheduledExecutorService previous = this.aggregation;
+        if (previous != null) {
+            this.aggregation = null;
+            previous.shutdown();
+            try {
+                previous.awaitTermination(MAX_TIMEOUT, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            this.reportWindows();
+        }
+    }
 
-        this.dtf = new SimpleDateFormat("yyyy/MM/dd HH:mm:ss.SSS");
-        this.df = new SimpleDateFormat("yyyy/MM/dd");
+    private void reportWindows() {
+        try {
+            final boolean debug = this.logger.isDebugEnabled();
+            for (SignatureEntry entry : this.signatures.getEntries()) {
+                final WindowSnapshot window = entry.getStatistics().rollWindow();
+                if (debug && window != null && window.getCount() > 0) {
+                    this.logger.debug(window.appendSummary(new StringBuilder(entry.getName()).append(": ")).toString());
+                }
+            }
+        } catch (RuntimeException e) {
+            this.logger.error("Error occurred during the aggregation report", e);
+        }
     }
 
     /**
-     * Get the logger.
+     * Start the tracing of the nested profiled calls: the calls are
+     * aggregated per call path into a {@link CallTree} (count, total and self
+     * times), and the total and self times are recorded per signature (see
+     * {@link #getSelfTimes()}). The previous tree is discarded.
      * 
-     * @return the logger
+     * @param maxDepth
+     *            the maximum depth of the tree
+     * @param maxNodes
+     *            the maximum number of nodes of the tree
      */
-    public Logger getLogger() {
-        return this.logger;
+    public void startCallTree(final int maxDepth, final int maxNodes) {
+        this.callTree = new CallTree(maxDepth, maxNodes);
+    }
+
+    /**
+     * Stop the tracing of the nested profiled calls, the tree is logged (in
+     * debug).
+     * 
+     * @return the last call tree (or null if not started)
+     */
+    public CallTree stopCallTree() {
+        final CallTree previous = this.callTree;
+        this.callTree = null;
+        if (previous != null && this.logger.isDebugEnabled() && previous.getNodeCount() > 0) {
+            this.logger.debug(previous.appendTree(new StringBuilder("Call tree:").append(System.lineSeparator())).toString());
+        }
+        return previous;
+    }
+
+    /**
+     * @return the current call tree (or null if not started)
+     */
+    public CallTree getCallTree() {
+        return this.callTree;
+    }
+
+    /**
+     * Get the self times (without the traced inner calls) per signature,
+     * recorded since the first call tree start (see
+     * {@link #startCallTree(int, int)}).
+     * 
+     * @return the self times in nanoseconds, by signature name
+     */
+    public Map<String, Long> getSelfTimes() {
+        final Map<String, Long> selfTimes = new LinkedHashMap<>();
+        for (SignatureEntry entry : this.signatures.getEntries()) {
+            final long total = entry.getStatistics().getTotalTime();
+            if (total > 0) {
+                selfTimes.put(entry.getName(), entry.getStatistics().getSelfTime());
+            }
+        }
+        return selfTimes;
+    }
+
+    /**
+     * Configure the aspect from properties, see {@link #PROPERTY_THRESHOLD},
+     * {@link #PROPERTY_SAMPLING_MODE}, {@link #PROPERTY_SAMPLING_RATE},
+     * {@link #PROPERTY_EXCEPTION_MODE}, {@link #PROPERTY_RESOURCES},
+     * {@link #PROPERTY_LOG_RATE} and {@link #PROPERTY_LOG_BURST}. Missing
+     * properties are ignored. The aspect doesn't read the system properties
+     * by itself, call {@code configure(System.getProperties())} to apply
+     * them. The aggregation starts a thread and the contention monitoring
+     * changes the JVM settings, so they aren't configurable: call
+     * {@link #startAggregation(long, TimeUnit)} and
+     * {@link #setContentionMonitoring(boolean)}.
+     * 
+     * @param properties
+     *            the properties
+     * @throws IllegalArgumentException
+     *             if a property value is invalid
+     */
+    public void configure(final Properties properties) {
+        final String threshold = properties.getProperty(PROPERTY_THRESHOLD);
+        if (threshold != null) {
+            this.setThreshold(parseDuration(PROPERTY_THRESHOLD, threshold), TimeUnit.NANOSECONDS);
+        }
+
+        final String samplingMode = properties.getProperty(PROPERTY_SAMPLING_MODE);
+        if (samplingMode != null) {
+            final String samplingRate = properties.getProperty(PROPERTY_SAMPLING_RATE);
+            this.setSampling(SamplingMode.valueOf(samplingMode.trim().toUpperCase(Locale.ROOT)),
+                    samplingRate != null ? Double.parseDouble(samplingRate.trim()) : 1);
+        }
+
+        final String exception = properties.getProperty(PROPERTY_EXCEPTION_MODE);
+        if (exception != null) {
+            this.setExceptionMode(ExceptionMode.valueOf(exception.trim().toUpperCase(Locale.ROOT)));
+        }
+
+        final String resources = properties.getProperty(PROPERTY_RESOURCES);
+        if (resources != null) {
+            this.setResourceAccounting(Boolean.parseBoolean(resources.trim()));
+        }
+
+        final String logRate = properties.getProperty(PROPERTY_LOG_RATE);
+        if (logRate != null) {
+            final String logBurst = properties.getProperty(PROPERTY_LOG_BURST);
+            this.setLogRateLimit(Double.parseDouble(logRate.trim()), logBurst != null ? Integer.parseInt(logBurst.trim()) : 1);
+        }
+    }
+
+    private static long parseDuration(final String name, final String value) {
+        final Matcher matcher = DURATION.matcher(value.trim());
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException(name + " is not a valid duration: " + value);
+        }
+
+        final long duration = Long.parseLong(matcher.group(1));
+        final String unit = matcher.group(2);
+        if (unit == null || "ms".equals(unit)) {
+            return TimeUnit.MILLISECONDS.toNanos(duration);
+        } else if ("ns".equals(unit)) {
+            return duration;
+        } else if ("us".equals(unit)) {
+            return TimeUnit.MICROSECONDS.toNanos(duration);
+        } else if ("s".equals(unit)) {
+            return TimeUnit.SECONDS.toNanos(duration);
+        } else if ("m".equals(unit)) {
+            return TimeUnit.MINUTES.toNanos(duration);
+        } else {
+            return TimeUnit.HOURS.toNanos(duration);
+        }
+    }
+
+    private static int checkPositive(final int value, final String name) {
+        if (value <= 0) {
+            throw new IllegalArgumentException(name + " must be positive");
+        }
+        return value;
     }
 
     /**
@@ -100,32 +1046,166 @@ public abstract class AbstractAspect {
      * @return the signature
      */
     protected String getSignature(final JoinPoint joinPoint) {
-        final StringBuilder signBuilder = new StringBuilder();
-
-        signBuilder.append(joinPoint.getTarget().getClass());
-        signBuilder.append(EnumChar.DOT);
-        signBuilder.append(joinPoint.getSignature().getName());
-        signBuilder.append(EnumChar.PARENTHESIS_LEFT);
-        if (ArrayUtils.isNotEmpty(joinPoint.getArgs())) {
-            for (int i = 0; i < joinPoint.getArgs().length; i++) {
-                final Object object = joinPoint.getArgs()[i];
+        final SignatureEntry entry = this.signatures.get(joinPoint);
+        if (entry.isOverflow()) {
+            final Object target = joinPoint.getTarget();
+            final Signature signature = joinPoint.getSignature();
+            return this.getSignature(target != null ? target.getClass() : signature.getDeclaringType(), signature.getName(),
+                    joinPoint.getArgs());
+        }
+        return this.getSignature(entry, joinPoint.getArgs());
+    }
+
+    /**
+     * Render the signature of the call, through the overridden
+     * {@code getSignature} methods if any.
+     */
+    private String render(final SignatureEntry entry, final JoinPoint joinPoint) {
+        if (this.signatureOverridden) {
+            return this.getSignature(joinPoint);
+        }
+        return this.getSignature(getPrefix(entry, joinPoint), joinPoint.getArgs());
+    }
+
+    /**
+     * Get a deferred signature, rendered only when the logger formats the
+     * message (the join point getArgs returns a copy, used as snapshot).
+     * 
+     * @param joinPoint
+     *            join point
+     * @return the signature message
+     */
+    protected SignatureMessage getSignatureMessage(final JoinPoint joinPoint) {
+        return this.getSignatureMessage(this.signatures.get(joinPoint), joinPoint);
+    }
+
+    private SignatureMessage getSignatureMessage(final SignatureEntry entry, final JoinPoint joinPoint) {
+        return new SignatureMessage(this, getPrefix(entry, joinPoint), joinPoint.getStaticPart(), joinPoint.getArgs());
+    }
+
+    /**
+     * Get the signature prefix of the call: the cached prefix of the entry,
+     * or a prefix built from the join point for the calls sharing the
+     * overflow entry.
+     */
+    private static String getPrefix(final SignatureEntry entry, final JoinPoint joinPoint) {
+        if (entry.isOverflow()) {
+            final Object target = joinPoint.getTarget();
+            final Signature signature = joinPoint.getSignature();
+            return buildPrefix(target != null ? target.getClass() : signature.getDeclaringType(), signature.getName());
+        }
+        return entry.getPrefix();
+    }
+
+    private static String buildPrefix(final Class<?> targetClass, final String methodName) {
+        return new StringBuilder().append(targetClass).append(EnumChar.DOT).append(methodName).append(EnumChar.PARENTHESIS_LEFT)
+                .toString();
+    }
+
+    /**
+     * Get the signature.
+     * 
+     * @param targetClass
+     *            the target class
+     * @param methodName
+     *            the method name
+     * @param args
+     *            the arguments
+     * @return the signature
+     */
+    protected String getSignature(final Class<?> targetClass, final String methodName, final Object[] args) {
+        return this.getSignature(buildPrefix(targetClass, methodName), args);
+    }
+
+    /**
+     * Get the signature.
+     * 
+     * @param entry
+     *            the signature entry (with the cached prefix, the overflow
+     *            entry renders its name)
+     * @param args
+     *            the arguments
+     * @return the signature
+     */
+    protected String getSignature(final SignatureEntry entry, final Object[] args) {
+        return this.getSignature(entry.getPrefix(), args);
+    }
+
+    /**
+     * Get the signature.
+     * 
+     * @param prefix
+     *            the signature prefix (target class, method name and opening
+     *            parenthesis)
+     * @param args
+     *            the arguments
+     * @return the signature
+     */
+    String getSignature(final String prefix, final Object[] args) {
+        final RenderContext context = RenderContext.get();
+        final StringBuilder signBuilder = context.acquireBuilder();
+        try {
+            final int signatureLimit = add(signBuilder.length(), this.maxSignatureLength);
+
+            signBuilder.append(prefix);
+
+            if (ArrayUtils.isNotEmpty(args)) {
+                this.appendArguments(context, signBuilder, args, signatureLimit);
+            }
+            signBuilder.append(EnumChar.PARENTHESIS_RIGHT);
+
+            return signBuilder.toString();
+        } finally {
+            context.releaseBuilder(signBuilder);
+        }
+    }
+
+    private void appendArguments(final RenderContext context, final StringBuilder signBuilder, final Object[] args,
+            final int signatureLimit) {
+        final int previousLimit = context.getLimit();
+        final boolean previousTruncated = context.isTruncated();
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                if (i > 0) {
+                    signBuilder.append(EnumChar.COMMA).append(EnumChar.SPACE);
+                }
+                if (signBuilder.length() >= signatureLimit) {
+                    signBuilder.append(EnumChar.ELLIPSIS);
+                    break;
+                }
+
+                final int argumentLimit = Math.min(add(signBuilder.length(), this.maxArgumentLength), signatureLimit);
+                context.setLimit(argumentLimit);
+
+                final Object object = args[i];
                 if (object == null) {
                     signBuilder.append("null");
                 } else {
                     this.appendObject(signBuilder, object);
                 }
-                if (i < joinPoint.getArgs().length - 1) {
-                    signBuilder.append(EnumChar.COMMA).append(EnumChar.SPACE);
+
+                if (context.isTruncated() || signBuilder.length() > argumentLimit) {
+                    signBuilder.setLength(Math.min(signBuilder.length(), argumentLimit));
+                    signBuilder.append(EnumChar.ELLIPSIS);
                 }
             }
+        } finally {
+            context.restore(previousLimit, previousTruncated);
         }
-        signBuilder.append(EnumChar.PARENTHESIS_RIGHT);
+    }
 
-        return signBuilder.toString();
+    private static String getSimpleName(final Class<?> objClass) {
+        return SIMPLE_NAMES.get(objClass);
+    }
+
+    private static int add(final int length, final int max) {
+        return (int) Math.min((long) length + max, Integer.MAX_VALUE);
     }
 
     /**
-     * Append an object.
+     * Append an object. The argument type is resolved once per class (see
+     * {@link ArgumentType}).
      * 
      * @param logEntry
      *            log entry
@@ -134,17 +1214,38 @@ public abstract class AbstractAspect {
      */
     protected void appendObject(final StringBuilder logEntry, final Object object) {
         final Class<?> objClass = object.getClass();
+        final ArgumentType type = ArgumentType.of(objClass);
+
+        final boolean done;
+        if (this.simpleTypeOverridden) {
+            done = this.checkSimpleType(logEntry, object, objClass);
+        } else {
+            done = type.isSimple() && this.appendSimpleType(logEntry, object, objClass, type);
+        }
 
-        if (!this.checkSimpleType(logEntry, object, objClass)) {
-            if (objClass.isArray()) {
+        if (!done) {
+            switch (type) {
+            case ARRAY:
                 this.appendArray(logEntry, object, objClass);
-            } else if (Iterable.class.isAssignableFrom(objClass) || Iterator.class.isAssignableFrom(objClass)) {
+                break;
+            case ITERABLE:
                 this.appendIterable(logEntry, object, objClass);
-            } else if (Map.class.isAssignableFrom(objClass)) {
+                break;
+            case MAP:
                 this.appendMap(logEntry, object, objClass);
-            } else {
-                logEntry.append(EnumChar.PARENTHESIS_LEFT).append(objClass.getSimpleName()).append(EnumChar.PARENTHESIS_RIGHT)
-                        .append(EnumChar.BRACE_LEFT).append(object).append(EnumChar.BRACE_RIGHT);
+                break;
+            default:
+                logEntry.append(EnumChar.PARENTHESIS_LEFT).append(getSimpleName(objClass)).append(EnumChar.PARENTHESIS_RIGHT)
+                        .append(EnumChar.BRACE_LEFT);
+
+                final ArgumentRenderer<Object> renderer = this.renderers.find(objClass);
+                if (renderer != null) {
+                    renderer.render(logEntry, object);
+                } else {
+                    RenderContext.get().append(logEntry, object);
+                }
+
+                logEntry.append(EnumChar.BRACE_RIGHT);
             }
         }
     }
@@ -161,27 +1262,34 @@ public abstract class AbstractAspect {
      * @return <code>true</code> if simple type, <code>false</code> otherwise
      */
     protected boolean checkSimpleType(final StringBuilder logEntry, final Object object, final Class<?> objClass) {
-        boolean done = false;
+        return this.appendSimpleType(logEntry, object, objClass, ArgumentType.of(objClass));
+    }
 
-        if (String.class.equals(objClass)) {
-            logEntry.append(EnumChar.QUOTE).append(object).append(EnumChar.QUOTE);
-            done = true;
-        } else if (Character.class.isAssignableFrom(objClass)) {
-            logEntry.append(object);
-            done = true;
-        } else if (Number.class.isAssignableFrom(objClass)) {
-            logEntry.append(object);
-            done = true;
-        } else if (Boolean.class.isAssignableFrom(objClass)) {
+    private boolean appendSimpleType(final StringBuilder logEntry, final Object object, final Class<?> objClass,
+            final ArgumentType type) {
+        boolean done = true;
+
+        switch (type) {
+        case STRING:
+            logEntry.append(EnumChar.QUOTE);
+            RenderContext.get().append(logEntry, (String) object);
+            logEntry.append(EnumChar.QUOTE);
+            break;
+        case CHARACTER:
+        case NUMBER:
+        case BOOLEAN:
             logEntry.append(object);
-            done = true;
-        } else if (Enum.class.isAssignableFrom(objClass)) {
-            logEntry.append(objClass.getSimpleName()).append(EnumChar.DOT).append(object);
-            done = true;
-        } else if (Date.class.isAssignableFrom(objClass)) {
-            logEntry.append(objClass.getSimpleName()).append(EnumChar.BRACE_LEFT).append(this.formatDate((Date) object))
-                    .append(EnumChar.BRACE_RIGHT);
-            done = true;
+            break;
+        case ENUM:
+            logEntry.append(getSimpleName(objClass)).append(EnumChar.DOT).append(object);
+            break;
+        case DATE:
+            logEntry.append(getSimpleName(objClass)).append(EnumChar.BRACE_LEFT);
+            this.appendDate(logEntry, (Date) object);
+            logEntry.append(EnumChar.BRACE_RIGHT);
+            break;
+        default:
+            done = false;
         }
 
         return done;
@@ -195,18 +1303,30 @@ public abstract class AbstractAspect {
      * @return the formatted date
      */
     protected String formatDate(final Date date) {
-        final Calendar calendar = DateUtils.getCalendar(date);
+        return this.dateRenderer.format(date);
+    }
 
-        final int time = calendar.get(Calendar.HOUR) + calendar.get(Calendar.MINUTE) + calendar.get(Calendar.SECOND)
-                + calendar.get(Calendar.MILLISECOND);
-        if (time > 0) {
-            return this.dtf.format(date);
+    /**
+     * Append the date (without intermediate string, unless
+     * {@link #formatDate(Date)} is overridden). The time part is only
+     * rendered if the date is not at midnight.
+     * 
+     * @param logEntry
+     *            log entry
+     * @param date
+     *            date
+     */
+    protected void appendDate(final StringBuilder logEntry, final Date date) {
+        if (this.formatDateOverridden) {
+            logEntry.append(this.formatDate(date));
+        } else {
+            this.dateRenderer.append(logEntry, date);
         }
-        return this.df.format(date);
     }
 
     /**
-     * Append an array.
+     * Append an array (primitive arrays are rendered without boxing, see
+     * {@link PrimitiveArrays}).
      * 
      * @param logEntry
      *            log entry
@@ -216,24 +1336,29 @@ public abstract class AbstractAspect {
      *            object class
      */
     protected void appendArray(final StringBuilder logEntry, final Object object, final Class<?> objClass) {
-        int loop = 0;
-        final Object[] objects = (Object[]) object;
+        logEntry.append(EnumChar.PARENTHESIS_LEFT).append(getSimpleName(objClass)).append(EnumChar.PARENTHESIS_RIGHT);
+
+        if (objClass.getComponentType().isPrimitive()) {
+            PrimitiveArrays.append(logEntry, object, MAX_MULTIPLES_LOG, RenderContext.get().getLimit(), this.byteArrayMode);
+        } else {
+            this.appendObjectArray(logEntry, (Object[]) object);
+        }
+    }
 
-        logEntry.append(EnumChar.PARENTHESIS_LEFT).append(objClass.getSimpleName()).append(EnumChar.PARENTHESIS_RIGHT);
+    private void appendObjectArray(final StringBuilder logEntry, final Object[] objects) {
+        final RenderContext context = RenderContext.get();
+        int loop = 0;
 
         logEntry.append(EnumChar.BRACKET_LEFT);
-        for (loop = 0; loop < objects.length && loop < MAX_MULTIPLES_LOG; loop++) {
-            logEntry.append(objects[loop]).append(EnumChar.COMMA).append(EnumChar.SPACE);
+        for (; loop < objects.length && loop < MAX_MULTIPLES_LOG && !context.isExhausted(logEntry); loop++) {
+            if (loop > 0) {
+                logEntry.append(EnumChar.COMMA).append(EnumChar.SPACE);
+            }
+            context.append(logEntry, objects[loop]);
         }
 
-        if (objects.length > 0) {
-            final String replacement;
-            if (loop >= MAX_MULTIPLES_LOG) {
-                replacement = EnumChar.ELLIPSIS.toString();
-            } else {
-                replacement = "";
-            }
-            logEntry.replace(logEntry.length() - 2, logEntry.length(), replacement);
+        if (loop < objects.length) {
+            logEntry.append(EnumChar.ELLIPSIS);
         }
         logEntry.append(EnumChar.BRACKET_RIGHT);
     }
@@ -249,33 +1374,28 @@ public abstract class AbstractAspect {
      *            object class
      */
     protected void appendIterable(final StringBuilder logEntry, final Object object, final Class<?> objClass) {
+        final RenderContext context = RenderContext.get();
         int loop = 0;
         final Iterator<?> iterator;
-        if (Iterable.class.isAssignableFrom(objClass)) {
+        if (object instanceof Iterable) {
             iterator = ((Iterable<?>) object).iterator();
         } else {
             iterator = (Iterator<?>) object;
         }
 
-        logEntry.append(EnumChar.PARENTHESIS_LEFT).append(objClass.getSimpleName()).append(EnumChar.PARENTHESIS_RIGHT);
+        logEntry.append(EnumChar.PARENTHESIS_LEFT).append(getSimpleName(objClass)).append(EnumChar.PARENTHESIS_RIGHT);
 
         logEntry.append(EnumChar.BRACKET_LEFT);
-        if (iterator.hasNext()) {
-            while (iterator.hasNext() && loop < MAX_MULTIPLES_LOG) {
-                Object obj = iterator.next();
-                logEntry.append(obj).append(EnumChar.COMMA).append(EnumChar.SPACE);
-                loop++;
+        for (; iterator.hasNext() && loop < MAX_MULTIPLES_LOG && !context.isExhausted(logEntry); loop++) {
+            if (loop > 0) {
+                logEntry.append(EnumChar.COMMA).append(EnumChar.SPACE);
             }
-
-            final String replacement;
-            if (!iterator.hasNext()) {
-                replacement = "";
-            } else {
-                replacement = EnumChar.ELLIPSIS.toString();
-            }
-            logEntry.replace(logEntry.length() - 2, logEntry.length(), replacement);
+            context.append(logEntry, iterator.next());
         }
 
+        if (iterator.hasNext()) {
+            logEntry.append(EnumChar.ELLIPSIS);
+        }
         logEntry.append(EnumChar.BRACKET_RIGHT);
     }
 
@@ -290,70 +1410,276 @@ public abstract class AbstractAspect {
      *            object class
      */
     protected void appendMap(final StringBuilder logEntry, final Object object, final Class<?> objClass) {
+        final RenderContext context = RenderContext.get();
         int loop = 0;
         final Map<?, ?> map = (Map<?, ?>) object;
 
-        logEntry.append(EnumChar.PARENTHESIS_LEFT).append(objClass.getSimpleName()).append(EnumChar.PARENTHESIS_RIGHT);
+        logEntry.append(EnumChar.PARENTHESIS_LEFT).append(getSimpleName(objClass)).append(EnumChar.PARENTHESIS_RIGHT);
 
         logEntry.append(EnumChar.BRACKET_LEFT);
-        String replacement = "";
         for (final Entry<?, ?> entry : map.entrySet()) {
-            logEntry.append(entry.getKey()).append(EnumChar.EQUALS).append(entry.getValue()).append(EnumChar.COMMA).append(EnumChar.SPACE);
-
-            if (++loop >= MAX_MULTIPLES_LOG) {
-                replacement = EnumChar.ELLIPSIS.toString();
+            if (loop >= MAX_MULTIPLES_LOG || context.isExhausted(logEntry)) {
                 break;
             }
+            if (loop++ > 0) {
+                logEntry.append(EnumChar.COMMA).append(EnumChar.SPACE);
+            }
+            context.append(logEntry, entry.getKey());
+            logEntry.append(EnumChar.EQUALS);
+            context.append(logEntry, entry.getValue());
         }
 
-        if (!map.isEmpty()) {
-            logEntry.replace(logEntry.length() - 2, logEntry.length(), replacement);
+        if (loop < map.size()) {
+            logEntry.append(EnumChar.ELLIPSIS);
         }
         logEntry.append(EnumChar.BRACKET_RIGHT);
     }
 
     /**
-     * Logs join point.
+     * Logs join point (if sampled, see
+     * {@link #setSampling(SamplingMode, double)}).
      * 
      * @param joinPoint
      *            The joint point to log
      */
     protected void log(final JoinPoint joinPoint) {
-        if (this.logger.isDebugEnabled()) {
-            this.logger.debug(this.getSignature(joinPoint));
+        if (!this.logger.isDebugEnabled()) {
+            return;
+        }
+
+        final SignatureEntry entry = this.signatures.get(joinPoint);
+        if (this.sampler.sample(entry)) {
+            final RateLimit limit = this.logRateLimit;
+            final long suppressed = limit != null ? this.acquireLine(limit, entry) : 0;
+            if (suppressed < 0) {
+                return;
+            }
+
+            final AsyncDispatcher<AspectEvent> async = this.dispatcher;
+            if (async != null) {
+                this.publish(async, entry, joinPoint, AspectEvent.NOT_PROFILED, suppressed);
+            } else if (this.deferredRendering && !this.signatureOverridden) {
+                if (suppressed > 0) {
+                    this.logger.debug(MESSAGE_SUPPRESSED, this.getSignatureMessage(entry, joinPoint), suppressed(suppressed));
+                } else {
+                    this.logger.debug(MESSAGE, this.getSignatureMessage(entry, joinPoint));
+                }
+            } else {
+                final String signature = this.render(entry, joinPoint);
+                this.logger.debug(suppressed > 0 ? signature + suppressed(suppressed) : signature);
+            }
         }
     }
 
     /**
-     * Profiles call join point.
+     * Profiles call join point. The running time is measured with
+     * {@link System#nanoTime()}, the signature is only rendered if the
+     * call exceeds the threshold (see {@link Profiled} and
+     * {@link #setThreshold(long, TimeUnit)}). The statistics record all
+     * calls, whatever the sampling. During the aggregation
+     * (see {@link #startAggregation(long, TimeUnit)}), all calls are
+     * aggregated and the slow calls are not logged one by one. The nested
+     * calls are traced into the call tree if started (see
+     * {@link #startCallTree(int, int)}).
+     * 
+     * <p>
+     * If the result is a {@link CompletionStage} or a Spring
+     * {@link ListenableFuture}, the call is profiled until its completion
+     * (see {@link #setCompletionAware(boolean)}): a callback is attached to
+     * the result, which is returned unchanged, and the callback records the
+     * end-to-end duration and the outcome (success, failure or cancellation)
+     * on the completing thread. If the result is a Reactive Streams
+     * publisher (Reactor {@code Mono} and {@code Flux} included, see
+     * {@link ReactiveSupport}), each subscription is profiled from the
+     * subscription to the terminal signal, with the number of elements. The
+     * call tree only contains the synchronous part of the call.
+     * </p>
      * 
      * @param call
      *            The call joint point to log
      * @return The proceeded object
      * @throws AOPException
-     *             The exception thrown during proceed
+     *             The exception thrown during proceed (see
+     *             {@link #setExceptionMode(ExceptionMode)})
      */
     protected Object profile(final ProceedingJoinPoint call) throws AOPException {
-        if (this.logger.isDebugEnabled()) {
-            final StopWatch clock = new StopWatch("Profiling for '" + call.getSignature().getDeclaringType().getCanonicalName() + "'");
+        final boolean debug = this.logger.isDebugEnabled();
+        final boolean statistics = this.statisticsEnabled;
+        final boolean aggregated = this.aggregation != null;
+        final CallTree tree = this.callTree;
+        final boolean resources = this.resourceAccounting;
+        final boolean contention = this.contentionMonitoring;
+        if (debug || statistics || aggregated || tree != null || resources || contention) {
+            final SignatureEntry entry = this.signatures.get(call);
+            final long cpuStart = resources ? ThreadResources.getCpuTime() : ThreadResources.UNSUPPORTED;
+            final long allocatedStart = resources ? ThreadResources.getAllocatedBytes() : ThreadResources.UNSUPPORTED;
+            final ThreadInfo threadStart = contention ? ThreadResources.getThreadInfo() : null;
+            // entered last before the try, the exit is the first statement of the finally
+            if (tree != null) {
+                tree.enter(entry.getStatistics());
+            }
+            final long start = System.nanoTime();
+            boolean failed = true;
+            boolean deferred = false;
             try {
-                clock.start(call.toShortString());
-                return call.proceed();
+                final Object result = call.proceed();
+                failed = false;
+                final Object async = this.completionAware && result != null
+                        ? this.profileCompletion(call, entry, result, start, debug, statistics, aggregated) : null;
+                deferred = async != null;
+                return deferred ? async : result;
             } catch (final Throwable t) {
-                throw new AOPException("Error occurred during profiling " + call.getSignature().toString(), t);
+                throw this.wrap(call, t);
             } finally {
-                clock.stop();
-
-                if (clock.getTotalTimeSeconds() > MAX_TIMEOUT) {
-                    this.logger.debug(this.getSignature(call) + ", running time: " + clock.getTotalTimeMillis() + " ms");
+                final long elapsed = System.nanoTime() - start;
+                if (tree != null) {
+                    tree.exit(elapsed);
+                }
+                if (resources) {
+                    entry.getStatistics().recordResources(
+                            ThreadResources.delta(cpuStart, ThreadResources.getCpuTime()),
+                            ThreadResources.delta(allocatedStart, ThreadResources.getAllocatedBytes()));
+                }
+                if (threadStart != null) {
+                    this.recordContention(entry, threadStart);
+                }
+                if (!deferred) {
+                    this.profiled(call, entry, elapsed, debug, statistics, aggregated, failed);
                 }
             }
         } else {
             try {
                 return call.proceed();
             } catch (final Throwable t) {
-                throw new AOPException("Error occurred during profiling " + call.getSignature().toString(), t);
+                throw this.wrap(call, t);
+            }
+        }
+    }
+
+    private void recordContention(final SignatureEntry entry, final ThreadInfo start) {
+        final ThreadInfo end = ThreadResources.getThreadInfo();
+        if (end != null) {
+            entry.getStatistics().recordContention(end.getBlockedCount() - start.getBlockedCount(),
+                    ThreadResources.delta(start.getBlockedTime(), end.getBlockedTime()), end.getWaitedCount() - start.getWaitedCount(),
+                    ThreadResources.delta(start.getWaitedTime(), end.getWaitedTime()));
+        }
+    }
+
+    /**
+     * Attach the completion callback to an asynchronous result.
+     * 
+     * @return the result to return (the publishers are wrapped), or
+     *         {@code null} if the result is not asynchronous
+     */
+    private Object profileCompletion(final ProceedingJoinPoint call, final SignatureEntry entry, final Object result, final long start,
+            final boolean debug, final boolean statistics, final boolean aggregated) {
+        if (result instanceof CompletionStage) {
+            ((CompletionStage<?>) result)
+                    .whenComplete((value, error) -> this.completed(call, entry, start, debug, statistics, aggregated, error));
+            return result;
+        } else if (result instanceof ListenableFuture) {
+            ((ListenableFuture<?>) result).addCallback(value -> this.completed(call, entry, start, debug, statistics, aggregated, null),
+                    error -> this.completed(call, entry, start, debug, statistics, aggregated, error));
+            return result;
+        } else if (ReactiveSupport.REACTIVE_STREAMS && call.getSignature() instanceof MethodSignature) {
+            return ReactiveSupport.profile(result, ((MethodSignature) call.getSignature()).getReturnType(),
+                    (elapsed, elements, error, cancelled) -> {
+                        if (statistics) {
+                            entry.getStatistics().recordElements(elements);
+                        }
+                        this.terminated(call, entry, elapsed, debug, statistics, aggregated, error, cancelled);
+                    });
+        }
+        return null;
+    }
+
+    private void completed(final ProceedingJoinPoint call, final SignatureEntry entry, final long start, final boolean debug,
+            final boolean statistics, final boolean aggregated, final Throwable error) {
+        final Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        this.terminated(call, entry, System.nanoTime() - start, debug, statistics, aggregated, error,
+                cause instanceof CancellationException);
+    }
+
+    private void terminated(final ProceedingJoinPoint call, final SignatureEntry entry, final long elapsed, final boolean debug,
+            final boolean statistics, final boolean aggregated, final Throwable error, final boolean cancelled) {
+        try {
+            if (cancelled && statistics) {
+                entry.getStatistics().recordCancellation();
+            }
+            this.profiled(call, entry, elapsed, debug, statistics, aggregated, error != null && !cancelled);
+        } catch (RuntimeException e) {
+            this.logger.error("Error occurred during the profiling of the completion", e);
+        }
+    }
+
+    /**
+     * Handle the exception of a profiled call (see {@link ExceptionMode}).
+     * 
+     * @param call
+     *            the call join point
+     * @param throwable
+     *            the exception thrown by the call
+     * @return the exception to throw (the original one is thrown directly
+     *         with {@link ExceptionMode#RETHROW})
+     */
+    private AOPException wrap(final ProceedingJoinPoint call, final Throwable throwable) {
+        switch (this.exceptionMode) {
+        case RETHROW:
+            throw AbstractAspect.<RuntimeException> sneakyThrow(throwable);
+        case WRAP_LAZY:
+            final Signature signature = call.getSignature();
+            return new AOPException(() -> PROFILING_ERROR + signature.toString(), throwable);
+        case WRAP_STACKLESS:
+            final Signature stacklessSignature = call.getSignature();
+            return new StacklessAOPException(() -> PROFILING_ERROR + stacklessSignature.toString(), throwable);
+        default:
+            return new AOPException(PROFILING_ERROR + call.getSignature().toString(), throwable);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends Throwable> T sneakyThrow(final Throwable throwable) throws T {
+        throw (T) throwable;
+    }
+
+    private void profiled(final ProceedingJoinPoint call, final SignatureEntry entry, final long elapsed, final boolean debug,
+            final boolean statistics, final boolean aggregated, final boolean failed) {
+        final long entryThreshold = entry.getThreshold();
+        final boolean slow = elapsed > (entryThreshold != SignatureEntry.UNDEFINED_THRESHOLD ? entryThreshold : this.threshold);
+
+        if (statistics) {
+            entry.getStatistics().record(elapsed);
+            if (failed) {
+                entry.getStatistics().recordError();
+            }
+        }
+
+        if (aggregated) {
+            entry.getStatistics().getWindow().record(elapsed, failed);
+        } else if (debug && slow) {
+            final RateLimit limit = this.logRateLimit;
+            final long suppressed = limit != null ? this.acquireLine(limit, entry) : 0;
+            if (suppressed >= 0) {
+                this.logSlowCall(call, entry, elapsed, suppressed);
+            }
+        }
+    }
+
+    private void logSlowCall(final ProceedingJoinPoint call, final SignatureEntry entry, final long elapsed, final long suppressed) {
+        final long millis = TimeUnit.NANOSECONDS.toMillis(elapsed);
+        final AsyncDispatcher<AspectEvent> async = this.dispatcher;
+        if (async != null) {
+            this.publish(async, entry, call, elapsed, suppressed);
+        } else if (this.deferredRendering && !this.signatureOverridden) {
+            final SignatureMessage message = this.getSignatureMessage(entry, call);
+            if (suppressed > 0) {
+                this.logger.debug(MESSAGE_RUNNING_TIME_SUPPRESSED, message, millis, suppressed(suppressed));
+            } else {
+                this.logger.debug(MESSAGE_RUNNING_TIME, message, millis);
             }
+        } else {
+            final String line = this.render(entry, call) + ", running time: " + millis + " ms";
+            this.logger.debug(suppressed > 0 ? line + suppressed(suppressed) : line);
         }
     }
 }
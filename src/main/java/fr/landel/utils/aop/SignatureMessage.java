@@ -0,0 +1,94 @@
+/*
+ * #%L
+ * utils-aop
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.aop;
+
+import org.aspectj.lang.JoinPoint;
+
+/**
+ * Deferred signature, passed to the logger as a message argument. It only
+ * keeps the static part of the join point, its cached signature prefix and
+ * the argument references, and renders the signature the first time
+ * {@link #toString()} is called, so never if the event is filtered out
+ * (turbo filters, appender filters).
+ * 
+ * <p>
+ * The rendering is not moved off the calling thread: the appenders format
+ * the event on the calling thread, and the asynchronous ones (logback
+ * {@code AsyncAppender}) prepare it for the deferred processing, and so
+ * format the message, on the calling thread too.
+ * </p>
+ * 
+ * <p>
+ * As the arguments are rendered later, a mutable argument modified in the
+ * meantime is rendered with its new state.
+ * </p>
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public final class SignatureMessage {
+
+    private final AbstractAspect aspect;
+    private final String prefix;
+    private final JoinPoint.StaticPart staticPart;
+    private final Object[] args;
+
+    private String rendered;
+
+    /**
+     * Constructor.
+     *
+     * @param aspect
+     *            the aspect which renders the signature
+     * @param prefix
+     *            the signature prefix
+     * @param staticPart
+     *            the static part of the join point
+     * @param args
+     *            the arguments snapshot
+     */
+    SignatureMessage(final AbstractAspect aspect, final String prefix, final JoinPoint.StaticPart staticPart, final Object[] args) {
+        this.aspect = aspect;
+        this.prefix = prefix;
+        this.staticPart = staticPart;
+        this.args = args;
+    }
+
+    /**
+     * @return the static part of the join point
+     */
+    public JoinPoint.StaticPart getStaticPart() {
+        return this.staticPart;
+    }
+
+    /**
+     * Render the signature (only once).
+     */
+    @Override
+    public String toString() {
+        String signature = this.rendered;
+        if (signature == null) {
+            signature = this.aspect.getSignature(this.prefix, this.args);
+            this.rendered = signature;
+        }
+        return signature;
+    }
+}
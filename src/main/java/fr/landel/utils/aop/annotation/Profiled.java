@@ -0,0 +1,65 @@
+/*
+ * #%L
+ * utils-aop
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.aop.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Defines the slow call threshold of the profiled methods: calls running
+ * longer are logged with their running time.
+ * 
+ * <p>
+ * On a method, it overrides the threshold defined on its class, which
+ * overrides the aspect threshold (see
+ * {@link fr.landel.utils.aop.AbstractAspect#setThreshold(long, TimeUnit)}).
+ * The annotation is resolved once per method and target class.
+ * </p>
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+@Documented
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface Profiled {
+
+    /**
+     * The slow call threshold (negative to inherit the threshold of the class
+     * or of the aspect)
+     * 
+     * @return the threshold
+     */
+    long threshold() default -1;
+
+    /**
+     * The unit of the threshold
+     * 
+     * @return the unit
+     */
+    TimeUnit unit() default TimeUnit.MILLISECONDS;
+}
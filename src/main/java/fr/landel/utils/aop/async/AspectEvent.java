@@ -0,0 +1,143 @@
+/*
+ * #%L
+ * utils-aop
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.aop.async;
+
+/**
+ * Event of an advised call, published to the asynchronous pipeline
+ * (preallocated and reused, so mutable and not thread-safe: filled by the
+ * producer, read by the consumer).
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public final class AspectEvent {
+
+    /**
+     * Running time of logged calls (not profiled)
+     */
+    public static final long NOT_PROFILED = -1;
+
+    private String prefix;
+    private Object[] args;
+    private long timestamp;
+    private long elapsed;
+    private String threadName;
+    private long suppressed;
+    private boolean rendered;
+
+    /**
+     * Fill the event.
+     * 
+     * @param prefix
+     *            the signature prefix (cached per signature entry)
+     * @param args
+     *            the arguments snapshot (shallow copy)
+     * @param timestamp
+     *            the time of the call in milliseconds
+     * @param elapsed
+     *            the running time in nanoseconds or {@link #NOT_PROFILED}
+     * @param threadName
+     *            the name of the calling thread
+     * @param suppressed
+     *            the number of similar events suppressed before
+     */
+    public void set(final String prefix, final Object[] args, final long timestamp, final long elapsed, final String threadName,
+            final long suppressed) {
+        this.prefix = prefix;
+        this.args = args;
+        this.timestamp = timestamp;
+        this.elapsed = elapsed;
+        this.threadName = threadName;
+        this.suppressed = suppressed;
+    }
+
+    /**
+     * Mark the event as already rendered: the prefix is the full signature
+     * (rendered by the producer) and there is no argument.
+     * 
+     * @param rendered
+     *            if the signature is already rendered
+     */
+    public void setRendered(final boolean rendered) {
+        this.rendered = rendered;
+    }
+
+    /**
+     * Release the references (before reuse).
+     */
+    public void clear() {
+        this.prefix = null;
+        this.args = null;
+        this.threadName = null;
+        this.rendered = false;
+    }
+
+    /**
+     * @return the signature prefix (target class, method name and opening
+     *         parenthesis), or the full signature if rendered
+     */
+    public String getPrefix() {
+        return this.prefix;
+    }
+
+    /**
+     * @return if the signature is already rendered (see
+     *         {@link #setRendered(boolean)})
+     */
+    public boolean isRendered() {
+        return this.rendered;
+    }
+
+    /**
+     * @return the arguments snapshot
+     */
+    public Object[] getArgs() {
+        return this.args;
+    }
+
+    /**
+     * @return the time of the call in milliseconds
+     */
+    public long getTimestamp() {
+        return this.timestamp;
+    }
+
+    /**
+     * @return the running time in nanoseconds or {@link #NOT_PROFILED}
+     */
+    public long getElapsed() {
+        return this.elapsed;
+    }
+
+    /**
+     * @return the name of the calling thread
+     */
+    public String getThreadName() {
+        return this.threadName;
+    }
+
+    /**
+     * @return the number of similar events suppressed before
+     */
+    public long getSuppressed() {
+        return this.suppressed;
+    }
+}
@@ -0,0 +1,273 @@
+/*
+ * #%L
+ * utils-aop
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.aop.async;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Dispatches events from the business threads to background consumers
+ * through an {@link EventRingBuffer}, with an {@link OverflowPolicy}.
+ * 
+ * <p>
+ * Producers: {@link #claim()} (-1 if the event is dropped), fill
+ * {@link #get(long)}, then {@link #publish(long)}. Consumers call the
+ * handler with each event; the handler has to release its references (the
+ * event is reused).
+ * </p>
+ * 
+ * <p>
+ * A consumer stopped by an {@link Error} marks the dispatcher as failed; once
+ * no consumer is alive, the dispatcher is closed and the events are dropped
+ * (even with the {@link OverflowPolicy#BLOCK} policy).
+ * </p>
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ * @param <E>
+ *            the event type
+ */
+public class AsyncDispatcher<E> implements AutoCloseable {
+
+    /**
+     * Rate of the kept events with the {@link OverflowPolicy#SAMPLE} policy
+     */
+    public static final int SAMPLE_RATE = 16;
+
+    private static final int SPINS = 64;
+    private static final long PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(500);
+    private static final long JOIN_MILLIS = TimeUnit.SECONDS.toMillis(10);
+
+    private final EventRingBuffer<E> ring;
+    private final Consumer<E> handler;
+    private final OverflowPolicy policy;
+    private final List<Thread> consumers;
+
+    private final LongAdder dropped = new LongAdder();
+    private final AtomicInteger alive;
+
+    private volatile boolean closed;
+    private volatile boolean failed;
+
+    /**
+     * Constructor (the consumers are started).
+     *
+     * @param name
+     *            the name prefix of the consumer threads
+     * @param capacity
+     *            the capacity of the ring buffer (rounded to the next power
+     *            of two)
+     * @param factory
+     *            the factory of the preallocated events
+     * @param handler
+     *            the event handler (called by the consumers)
+     * @param consumers
+     *            the number of consumer threads
+     * @param policy
+     *            the overflow policy
+     */
+    public AsyncDispatcher(final String name, final int capacity, final Supplier<E> factory, final Consumer<E> handler,
+            final int consumers, final OverflowPolicy policy) {
+        if (consumers <= 0) {
+            throw new IllegalArgumentException("The number of consumers has to be positive");
+        }
+
+        this.ring = new EventRingBuffer<>(capacity, factory);
+        this.handler = Objects.requireNonNull(handler, "handler");
+        this.policy = Objects.requireNonNull(policy, "policy");
+
+        this.alive = new AtomicInteger(consumers);
+        this.consumers = new ArrayList<>(consumers);
+        for (int i = 0; i < consumers; i++) {
+            final Thread thread = new Thread(this::consume, name + "-" + i);
+            thread.setDaemon(true);
+            this.consumers.add(thread);
+        }
+        for (Thread thread : this.consumers) {
+            thread.start();
+        }
+    }
+
+    /**
+     * @return the overflow policy
+     */
+    public OverflowPolicy getPolicy() {
+        return this.policy;
+    }
+
+    /**
+     * @return the number of dropped events (buffer full, sampled out,
+     *         dispatcher closed or failed)
+     */
+    public long getDropped() {
+        return this.dropped.sum();
+    }
+
+    /**
+     * @return {@code true} if a consumer was stopped by an error
+     */
+    public boolean isFailed() {
+        return this.failed;
+    }
+
+    /**
+     * @return the approximate number of pending events
+     */
+    public int getPending() {
+        return this.ring.size();
+    }
+
+    /**
+     * Claim a slot, according to the overflow policy.
+     * 
+     * @return the sequence or -1 if the event is dropped
+     */
+    public long claim() {
+        if (this.closed) {
+            this.dropped.increment();
+            return -1;
+        }
+
+        if (OverflowPolicy.SAMPLE.equals(this.policy) && this.ring.size() >= this.ring.capacity() / 2
+                && ThreadLocalRandom.current().nextInt(SAMPLE_RATE) != 0) {
+            this.dropped.increment();
+            return -1;
+        }
+
+        long sequence = this.ring.tryClaim();
+        if (sequence < 0 && OverflowPolicy.BLOCK.equals(this.policy)) {
+            for (int i = 0; sequence < 0 && !this.closed; i++) {
+                backoff(i);
+                sequence = this.ring.tryClaim();
+            }
+        }
+        if (sequence < 0) {
+            this.dropped.increment();
+        }
+        return sequence;
+    }
+
+    /**
+     * Get the event of a claimed slot.
+     * 
+     * @param sequence
+     *            the sequence returned by {@link #claim()}
+     * @return the event to fill
+     */
+    public E get(final long sequence) {
+        return this.ring.get(sequence);
+    }
+
+    /**
+     * Publish the event of a claimed slot. If the dispatcher was closed in
+     * the meantime (the consumers may be gone), the remaining events are
+     * handled by the calling thread.
+     * 
+     * @param sequence
+     *            the sequence returned by {@link #claim()}
+     */
+    public void publish(final long sequence) {
+        this.ring.publish(sequence);
+        if (this.closed) {
+            this.drain();
+        }
+    }
+
+    private void consume() {
+        try {
+            for (int idle = 0;;) {
+                final long sequence = this.ring.tryTake();
+                if (sequence >= 0) {
+                    idle = 0;
+                    this.handle(sequence);
+                } else if (this.closed && this.ring.size() == 0) {
+                    return;
+                } else {
+                    backoff(idle++);
+                }
+            }
+        } finally {
+            if (this.alive.decrementAndGet() == 0) {
+                this.closed = true;
+            }
+        }
+    }
+
+    private void handle(final long sequence) {
+        try {
+            this.handler.accept(this.ring.get(sequence));
+        } catch (Error e) {
+            this.failed = true;
+            throw e;
+        } catch (Throwable e) {
+            final Thread thread = Thread.currentThread();
+            thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+        } finally {
+            this.ring.release(sequence);
+        }
+    }
+
+    private void drain() {
+        for (long sequence = this.ring.tryTake(); sequence >= 0; sequence = this.ring.tryTake()) {
+            if (this.failed) {
+                this.dropped.increment();
+                this.ring.release(sequence);
+            } else {
+                this.handle(sequence);
+            }
+        }
+    }
+
+    private static void backoff(final int iteration) {
+        if (iteration < SPINS) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(PARK_NANOS);
+        }
+    }
+
+    /**
+     * Stop the consumers, once the published events are handled (waits up to
+     * ten seconds per consumer), the events left are then handled by the
+     * calling thread. Events claimed after are dropped. If interrupted, the
+     * consumers are stopped in the background.
+     */
+    @Override
+    public void close() {
+        this.closed = true;
+        try {
+            for (Thread thread : this.consumers) {
+                thread.join(JOIN_MILLIS);
+            }
+            this.drain();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
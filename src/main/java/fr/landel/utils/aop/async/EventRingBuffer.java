@@ -0,0 +1,168 @@
+/*
+ * #%L
+ * utils-aop
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.aop.async;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * Bounded multi-producer / multi-consumer ring buffer of preallocated events
+ * (based on the Dmitry Vyukov's bounded MPMC queue). The slots are claimed
+ * with a CAS on the tail (producers) or on the head (consumers), and each
+ * slot sequence tells if it's free, published or being consumed. Nothing is
+ * allocated after construction.
+ * 
+ * <p>
+ * Producers: {@link #tryClaim()}, fill {@link #get(long)}, then
+ * {@link #publish(long)}. Consumers: {@link #tryTake()}, read
+ * {@link #get(long)}, then {@link #release(long)}.
+ * </p>
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ * @param <E>
+ *            the event type
+ */
+public class EventRingBuffer<E> {
+
+    private final int mask;
+    private final Object[] events;
+    private final AtomicLongArray sequences;
+
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    /**
+     * Constructor
+     *
+     * @param capacity
+     *            the capacity (rounded to the next power of two)
+     * @param factory
+     *            the factory of the preallocated events
+     */
+    public EventRingBuffer(final int capacity, final Supplier<E> factory) {
+        if (capacity <= 0 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("The capacity has to be between 1 and 2^30");
+        }
+        final int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+
+        this.mask = size - 1;
+        this.events = new Object[size];
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            this.events[i] = factory.get();
+            this.sequences.set(i, i);
+        }
+    }
+
+    /**
+     * @return the capacity
+     */
+    public int capacity() {
+        return this.events.length;
+    }
+
+    /**
+     * @return the approximate number of claimed and not released events
+     */
+    public int size() {
+        final long size = this.tail.get() - this.head.get();
+        return (int) Math.max(0, Math.min(size, this.events.length));
+    }
+
+    /**
+     * Claim a free slot (producer side).
+     * 
+     * @return the sequence or -1 if full
+     */
+    public long tryClaim() {
+        long position = this.tail.get();
+        for (;;) {
+            final long difference = this.sequences.get((int) position & this.mask) - position;
+            if (difference == 0) {
+                if (this.tail.compareAndSet(position, position + 1)) {
+                    return position;
+                }
+                position = this.tail.get();
+            } else if (difference < 0) {
+                return -1;
+            } else {
+                position = this.tail.get();
+            }
+        }
+    }
+
+    /**
+     * Publish the event of a claimed slot (producer side).
+     * 
+     * @param sequence
+     *            the sequence returned by {@link #tryClaim()}
+     */
+    public void publish(final long sequence) {
+        this.sequences.lazySet((int) sequence & this.mask, sequence + 1);
+    }
+
+    /**
+     * Take a published slot (consumer side).
+     * 
+     * @return the sequence or -1 if empty
+     */
+    public long tryTake() {
+        long position = this.head.get();
+        for (;;) {
+            final long difference = this.sequences.get((int) position & this.mask) - (position + 1);
+            if (difference == 0) {
+                if (this.head.compareAndSet(position, position + 1)) {
+                    return position;
+                }
+                position = this.head.get();
+            } else if (difference < 0) {
+                return -1;
+            } else {
+                position = this.head.get();
+            }
+        }
+    }
+
+    /**
+     * Release a taken slot (consumer side), the event can be reused.
+     * 
+     * @param sequence
+     *            the sequence returned by {@link #tryTake()}
+     */
+    public void release(final long sequence) {
+        this.sequences.lazySet((int) sequence & this.mask, sequence + this.events.length);
+    }
+
+    /**
+     * Get the event of a slot (only between claim and publish, or between
+     * take and release).
+     * 
+     * @param sequence
+     *            the sequence
+     * @return the event
+     */
+    @SuppressWarnings("unchecked")
+    public E get(final long sequence) {
+        return (E) this.events[(int) sequence & this.mask];
+    }
+}
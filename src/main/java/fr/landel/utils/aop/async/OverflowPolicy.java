@@ -0,0 +1,47 @@
+/*
+ * #%L
+ * utils-aop
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.aop.async;
+
+/**
+ * Policies applied when the asynchronous pipeline cannot keep up.
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public enum OverflowPolicy {
+
+    /**
+     * Drop the events when the buffer is full
+     */
+    DROP,
+
+    /**
+     * Keep one event in {@value AsyncDispatcher#SAMPLE_RATE} once the buffer
+     * is half full, drop the events when the buffer is full
+     */
+    SAMPLE,
+
+    /**
+     * Block the caller until a slot is free (back-pressure on the business
+     * threads)
+     */
+    BLOCK
+}
@@ -19,7 +19,10 @@
  */
 package fr.landel.utils.aop.exception;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.util.Locale;
+import java.util.function.Supplier;
 
 import fr.landel.utils.commons.exception.AbstractException;
 
@@ -37,6 +40,16 @@ public class AOPException extends AbstractException {
      */
     private static final long serialVersionUID = -5088326000492567608L;
 
+    /**
+     * The lazy message (null once resolved)
+     */
+    private transient Supplier<String> messageSupplier;
+
+    /**
+     * The resolved lazy message
+     */
+    private String lazyMessage;
+
     /**
      * Constructor.
      * 
@@ -122,4 +135,33 @@ public class AOPException extends AbstractException {
     public AOPException(final Throwable exception, final Locale locale, final String message, final Object... arguments) {
         super(exception, locale, message, arguments);
     }
+
+    /**
+     * Constructor with lazy message and exception (the message is built on
+     * first read).
+     * 
+     * @param message
+     *            the message supplier
+     * @param exception
+     *            the cause exception
+     */
+    public AOPException(final Supplier<String> message, final Throwable exception) {
+        super((String) null, exception);
+        this.messageSupplier = message;
+    }
+
+    @Override
+    public String getMessage() {
+        final Supplier<String> supplier = this.messageSupplier;
+        if (supplier != null) {
+            this.lazyMessage = supplier.get();
+            this.messageSupplier = null;
+        }
+        return this.lazyMessage != null ? this.lazyMessage : super.getMessage();
+    }
+
+    private void writeObject(final ObjectOutputStream out) throws IOException {
+        this.getMessage();
+        out.defaultWriteObject();
+    }
 }
@@ -0,0 +1,54 @@
+/*
+ * #%L
+ * utils-aop
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.aop.exception;
+
+/**
+ * How the profiling handles the exceptions thrown by the profiled calls.
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public enum ExceptionMode {
+
+    /**
+     * Wrap the exception into an {@link AOPException} with the signature in
+     * the message
+     */
+    WRAP,
+
+    /**
+     * Wrap the exception into an {@link AOPException}, the message with the
+     * signature is only built if read
+     */
+    WRAP_LAZY,
+
+    /**
+     * Wrap the exception into a {@link StacklessAOPException} (no stack
+     * trace, the message with the signature is only built if read)
+     */
+    WRAP_STACKLESS,
+
+    /**
+     * Rethrow the original exception unchanged (even checked exceptions, not
+     * declared by the advice)
+     */
+    RETHROW
+}
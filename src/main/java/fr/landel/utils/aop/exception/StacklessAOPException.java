@@ -0,0 +1,61 @@
+/*
+ * #%L
+ * utils-aop
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.aop.exception;
+
+import java.util.function.Supplier;
+
+/**
+ * Lightweight {@link AOPException} without stack trace (the cause keeps the
+ * useful frames), with a lazy message.
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public class StacklessAOPException extends AOPException {
+
+    /**
+     * serialVersionUID
+     */
+    private static final long serialVersionUID = 2467153402567402419L;
+
+    /**
+     * Constructor with lazy message and exception (the message is built on
+     * first read).
+     * 
+     * @param message
+     *            the message supplier
+     * @param exception
+     *            the cause exception
+     */
+    public StacklessAOPException(final Supplier<String> message, final Throwable exception) {
+        super(message, exception);
+    }
+
+    /**
+     * The stack trace is not filled.
+     * 
+     * @return this exception
+     */
+    @Override
+    public Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * #%L
+ * utils-aop
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.aop.jmx;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.TimeUnit;
+
+import fr.landel.utils.aop.AbstractAspect;
+import fr.landel.utils.aop.sampling.SamplingMode;
+import fr.landel.utils.aop.stats.HistogramSnapshot;
+import fr.landel.utils.aop.stats.SignatureStatistics;
+
+/**
+ * MXBean of an aspect (see {@link AbstractAspect#registerMBean()}). The
+ * statistics are read from lock-free snapshots, the profiled threads are
+ * never blocked by the reads.
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public class AspectStatistics implements AspectStatisticsMXBean {
+
+    private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final AbstractAspect aspect;
+    private volatile long since = System.nanoTime();
+
+    /**
+     * Constructor
+     *
+     * @param aspect
+     *            the managed aspect
+     */
+    public AspectStatistics(final AbstractAspect aspect) {
+        this.aspect = aspect;
+    }
+
+    @Override
+    public Map<String, SignatureStatisticsView> getSignatures() {
+        final Map<String, SignatureStatistics> statistics = this.aspect.getStatistics();
+        final double seconds = Math.max(1, System.nanoTime() - this.since) / NANOS_PER_SECOND;
+
+        final Map<String, SignatureStatisticsView> views = new LinkedHashMap<>();
+        for (Entry<String, HistogramSnapshot> latencies : this.aspect.getLatencies().entrySet()) {
+            final HistogramSnapshot snapshot = latencies.getValue();
+            final SignatureStatistics signature = statistics.get(latencies.getKey());
+            views.put(latencies.getKey(),
+                    new SignatureStatisticsView(snapshot.getCount(), signature != null ? signature.getErrors() : 0,
+                            signature != null ? signature.getCancellations() : 0, snapshot.getMean() / NANOS_PER_MILLI,
+                            snapshot.getMax() / NANOS_PER_MILLI, snapshot.getP50() / NANOS_PER_MILLI, snapshot.getP90() / NANOS_PER_MILLI,
+                            snapshot.getP99() / NANOS_PER_MILLI, snapshot.getP999() / NANOS_PER_MILLI, snapshot.getCount() / seconds));
+        }
+        return views;
+    }
+
+    @Override
+    public boolean isStatisticsEnabled() {
+        return this.aspect.isStatisticsEnabled();
+    }
+
+    @Override
+    public void setStatisticsEnabled(final boolean statisticsEnabled) {
+        this.aspect.setStatisticsEnabled(statisticsEnabled);
+    }
+
+    @Override
+    public long getThresholdMillis() {
+        return this.aspect.getThreshold(TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void setThresholdMillis(final long threshold) {
+        this.aspect.setThreshold(threshold, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public String getSamplingMode() {
+        return this.aspect.getSampler().getMode().name();
+    }
+
+    @Override
+    public double getSamplingRate() {
+        return this.aspect.getSampler().getRate();
+    }
+
+    @Override
+    public void setSampling(final String mode, final double rate) {
+        this.aspect.setSampling(SamplingMode.valueOf(mode.trim().toUpperCase(Locale.ROOT)), rate);
+    }
+
+    @Override
+    public long getSuppressedLines() {
+        return this.aspect.getSuppressedLines();
+    }
+
+    @Override
+    public long getDroppedEvents() {
+        return this.aspect.getDroppedEvents();
+    }
+
+    @Override
+    public void resetStatistics() {
+        this.aspect.resetStatistics();
+        this.since = System.nanoTime();
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * #%L
+ * utils-aop
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.aop.jmx;
+
+import java.util.Map;
+
+/**
+ * Management interface of an aspect: live statistics per signature and
+ * runtime configuration of the profiling (see {@link AspectStatistics}).
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public interface AspectStatisticsMXBean {
+
+    /**
+     * @return the statistics per signature name (only signatures with at
+     *         least one recorded call)
+     */
+    Map<String, SignatureStatisticsView> getSignatures();
+
+    /**
+     * @return true, if the statistics are recorded
+     */
+    boolean isStatisticsEnabled();
+
+    /**
+     * @param statisticsEnabled
+     *            true to record the statistics
+     */
+    void setStatisticsEnabled(boolean statisticsEnabled);
+
+    /**
+     * @return the slow call threshold of the aspect in milliseconds
+     */
+    long getThresholdMillis();
+
+    /**
+     * @param threshold
+     *            the slow call threshold of the aspect in milliseconds
+     */
+    void setThresholdMillis(long threshold);
+
+    /**
+     * @return the sampling mode
+     */
+    String getSamplingMode();
+
+    /**
+     * @return the sampling rate
+     */
+    double getSamplingRate();
+
+    /**
+     * Change the sampling.
+     * 
+     * @param mode
+     *            the sampling mode (name of
+     *            {@link fr.landel.utils.aop.sampling.SamplingMode})
+     * @param rate
+     *            the sampling rate
+     */
+    void setSampling(String mode, double rate);
+
+    /**
+     * @return the number of suppressed log lines
+     */
+    long getSuppressedLines();
+
+    /**
+     * @return the number of events dropped by the asynchronous pipeline
+     */
+    long getDroppedEvents();
+
+    /**
+     * Reset the statistics of all signatures.
+     */
+    void resetStatistics();
+}
@@ -0,0 +1,154 @@
+/*
+ * #%L
+ * utils-aop
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.aop.jmx;
+
+import java.beans.ConstructorProperties;
+
+/**
+ * Statistics of a signature exposed through JMX (durations in
+ * milliseconds).
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public final class SignatureStatisticsView {
+
+    private final long count;
+    private final long errors;
+    private final long cancellations;
+    private final double mean;
+    private final double max;
+    private final double p50;
+    private final double p90;
+    private final double p99;
+    private final double p999;
+    private final double throughput;
+
+    /**
+     * Constructor
+     *
+     * @param count
+     *            the number of recorded calls
+     * @param errors
+     *            the number of failed calls
+     * @param cancellations
+     *            the number of cancelled asynchronous calls
+     * @param mean
+     *            the mean duration
+     * @param max
+     *            the maximum duration
+     * @param p50
+     *            the median duration
+     * @param p90
+     *            the 90th percentile
+     * @param p99
+     *            the 99th percentile
+     * @param p999
+     *            the 99.9th percentile
+     * @param throughput
+     *            the recorded calls per second
+     */
+    @ConstructorProperties({"count", "errors", "cancellations", "mean", "max", "p50", "p90", "p99", "p999", "throughput"})
+    public SignatureStatisticsView(final long count, final long errors, final long cancellations, final double mean, final double max,
+            final double p50, final double p90, final double p99, final double p999, final double throughput) {
+        this.count = count;
+        this.errors = errors;
+        this.cancellations = cancellations;
+        this.mean = mean;
+        this.max = max;
+        this.p50 = p50;
+        this.p90 = p90;
+        this.p99 = p99;
+        this.p999 = p999;
+        this.throughput = throughput;
+    }
+
+    /**
+     * @return the number of recorded calls
+     */
+    public long getCount() {
+        return this.count;
+    }
+
+    /**
+     * @return the number of failed calls
+     */
+    public long getErrors() {
+        return this.errors;
+    }
+
+    /**
+     * @return the number of cancelled asynchronous calls
+     */
+    public long getCancellations() {
+        return this.cancellations;
+    }
+
+    /**
+     * @return the mean duration in milliseconds
+     */
+    public double getMean() {
+        return this.mean;
+    }
+
+    /**
+     * @return the maximum duration in milliseconds
+     */
+    public double getMax() {
+        return this.max;
+    }
+
+    /**
+     * @return the median duration in milliseconds
+     */
+    public double getP50() {
+        return this.p50;
+    }
+
+    /**
+     * @return the 90th percentile in milliseconds
+     */
+    public double getP90() {
+        return this.p90;
+    }
+
+    /**
+     * @return the 99th percentile in milliseconds
+     */
+    public double getP99() {
+        return this.p99;
+    }
+
+    /**
+     * @return the 99.9th percentile in milliseconds
+     */
+    public double getP999() {
+        return this.p999;
+    }
+
+    /**
+     * @return the recorded calls per second (since the registration or the
+     *         last reset)
+     */
+    public double getThroughput() {
+        return this.throughput;
+    }
+}
@@ -0,0 +1,271 @@
+/*
+ * #%L
+ * utils-aop
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.aop.metrics;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.TimeUnit;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import fr.landel.utils.aop.AbstractAspect;
+import fr.landel.utils.aop.stats.HistogramSnapshot;
+import fr.landel.utils.aop.stats.LatencyHistogram;
+import fr.landel.utils.aop.stats.SignatureStatistics;
+
+/**
+ * Exporter of the statistics of an aspect in the Prometheus text format,
+ * served by the HTTP server of the JDK ({@code com.sun.net.httpserver}) on
+ * {@value #PATH}.
+ * 
+ * <p>
+ * Metrics (label {@code signature}): {@code aop_call_duration_seconds}
+ * (histogram), {@code aop_call_errors_total} and
+ * {@code aop_call_cancellations_total} (counters). To bound the number of
+ * series, only the first registered signatures have their own label, the
+ * others are merged under {@value #OTHER}. The signatures are never
+ * unregistered, so a labelled signature keeps its series across the scrapes
+ * (a reset of the statistics is seen as a counter reset). The histogram
+ * buckets are computed from the buckets of the {@link LatencyHistogram}, a
+ * bucket straddling a bound is counted in the next one.
+ * </p>
+ * 
+ * <p>
+ * The response is written while the signatures are read (chunked), with
+ * one histogram snapshot at a time, the payload is never built in memory.
+ * </p>
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public class PrometheusExporter implements AutoCloseable {
+
+    /**
+     * The path of the metrics
+     */
+    public static final String PATH = "/metrics";
+
+    /**
+     * The content type of the text format
+     */
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    /**
+     * The label of the signatures beyond the maximum
+     */
+    public static final String OTHER = "other";
+
+    private static final String DURATION = "aop_call_duration_seconds";
+    private static final String ERRORS = "aop_call_errors_total";
+    private static final String CANCELLATIONS = "aop_call_cancellations_total";
+
+    private static final String[] BOUNDS = {"0.0001", "0.0005", "0.001", "0.005", "0.01", "0.05", "0.1", "0.5", "1", "5", "10"};
+    private static final long[] BOUNDS_NANOS = new long[BOUNDS.length];
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    static {
+        for (int i = 0; i < BOUNDS.length; i++) {
+            BOUNDS_NANOS[i] = (long) (Double.parseDouble(BOUNDS[i]) * NANOS_PER_SECOND);
+        }
+    }
+
+    private final AbstractAspect aspect;
+    private final int maxSignatures;
+    private HttpServer server;
+
+    /**
+     * Constructor (the statistics of the aspect are enabled)
+     *
+     * @param aspect
+     *            the exported aspect
+     * @param maxSignatures
+     *            the maximum number of signature labels (others are merged
+     *            under {@value #OTHER})
+     */
+    public PrometheusExporter(final AbstractAspect aspect, final int maxSignatures) {
+        if (maxSignatures < 0) {
+            throw new IllegalArgumentException("maxSignatures cannot be negative");
+        }
+        this.aspect = aspect;
+        this.maxSignatures = maxSignatures;
+        aspect.setStatisticsEnabled(true);
+    }
+
+    /**
+     * Start the HTTP server (the previous one is stopped).
+     * 
+     * @param address
+     *            the address (port 0 for an ephemeral port)
+     * @throws IOException
+     *             if the server cannot be bound
+     */
+    public synchronized void start(final InetSocketAddress address) throws IOException {
+        this.close();
+        final HttpServer httpServer = HttpServer.create(address, 0);
+        httpServer.createContext(PATH, this::handle);
+        httpServer.start();
+        this.server = httpServer;
+    }
+
+    /**
+     * @return the port of the started server (or -1 if not started)
+     */
+    public synchronized int getPort() {
+        return this.server != null ? this.server.getAddress().getPort() : -1;
+    }
+
+    /**
+     * Stop the HTTP server (if started).
+     */
+    @Override
+    public synchronized void close() {
+        if (this.server != null) {
+            this.server.stop(0);
+            this.server = null;
+        }
+    }
+
+    private void handle(final HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            // chunked
+            exchange.sendResponseHeaders(200, 0);
+            try (Writer writer = new BufferedWriter(new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8))) {
+                this.write(writer);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Write the metrics in the Prometheus text format.
+     * 
+     * @param writer
+     *            the writer
+     * @throws IOException
+     *             on write failure
+     */
+    public void write(final Writer writer) throws IOException {
+        // the membership is decided once for all the metrics of the scrape
+        final Map<String, SignatureStatistics> labelled = new LinkedHashMap<>();
+        final List<SignatureStatistics> merged = new ArrayList<>();
+        for (Entry<String, SignatureStatistics> entry : this.aspect.getStatistics().entrySet()) {
+            if (labelled.size() < this.maxSignatures) {
+                labelled.put(entry.getKey(), entry.getValue());
+            } else {
+                merged.add(entry.getValue());
+            }
+        }
+
+        writer.write("# HELP " + DURATION + " Duration of the profiled calls\n# TYPE " + DURATION + " histogram\n");
+        for (Entry<String, SignatureStatistics> entry : labelled.entrySet()) {
+            final long[] cumulative = new long[BOUNDS.length + 2];
+            accumulate(entry.getValue(), cumulative);
+            writeHistogram(writer, entry.getKey(), cumulative);
+        }
+        if (!merged.isEmpty()) {
+            final long[] other = new long[BOUNDS.length + 2];
+            for (SignatureStatistics statistics : merged) {
+                accumulate(statistics, other);
+            }
+            writeHistogram(writer, OTHER, other);
+        }
+
+        writer.write("# HELP " + ERRORS + " Failed profiled calls\n# TYPE " + ERRORS + " counter\n");
+        writeCounters(writer, labelled, merged, ERRORS, true);
+        writer.write("# HELP " + CANCELLATIONS + " Cancelled asynchronous profiled calls\n# TYPE " + CANCELLATIONS + " counter\n");
+        writeCounters(writer, labelled, merged, CANCELLATIONS, false);
+        writer.flush();
+    }
+
+    /**
+     * Add the cumulative counts of the bounds, the count (sum of all the
+     * buckets of the snapshot, the last one included) and the total
+     * duration.
+     */
+    private static void accumulate(final SignatureStatistics statistics, final long[] cumulative) {
+        if (statistics.getCount() == 0) {
+            return;
+        }
+        final HistogramSnapshot snapshot = statistics.getLatencies();
+        int bound = 0;
+        long count = 0;
+        for (int i = 0; i < LatencyHistogram.BUCKET_COUNT; i++) {
+            while (bound < BOUNDS.length && LatencyHistogram.highestValue(i) > BOUNDS_NANOS[bound]) {
+                cumulative[bound++] += count;
+            }
+            count += snapshot.getBucketCount(i);
+        }
+        while (bound < BOUNDS.length) {
+            cumulative[bound++] += count;
+        }
+        // from the same buckets, so +Inf is never below the last bound
+        cumulative[BOUNDS.length] += count;
+        cumulative[BOUNDS.length + 1] += snapshot.getTotal();
+    }
+
+    private static void writeHistogram(final Writer writer, final String signature, final long[] cumulative) throws IOException {
+        final String label = "{signature=\"" + escape(signature) + "\"";
+        for (int i = 0; i < BOUNDS.length; i++) {
+            writer.write(DURATION + "_bucket" + label + ",le=\"" + BOUNDS[i] + "\"} " + cumulative[i] + "\n");
+        }
+        writer.write(DURATION + "_bucket" + label + ",le=\"+Inf\"} " + cumulative[BOUNDS.length] + "\n");
+        writer.write(DURATION + "_sum" + label + "} " + cumulative[BOUNDS.length + 1] / NANOS_PER_SECOND + "\n");
+        writer.write(DURATION + "_count" + label + "} " + cumulative[BOUNDS.length] + "\n");
+    }
+
+    private static void writeCounters(final Writer writer, final Map<String, SignatureStatistics> labelled,
+            final List<SignatureStatistics> merged, final String name, final boolean errors) throws IOException {
+        for (Entry<String, SignatureStatistics> entry : labelled.entrySet()) {
+            writer.write(name + "{signature=\"" + escape(entry.getKey()) + "\"} " + counter(entry.getValue(), errors) + "\n");
+        }
+        if (!merged.isEmpty()) {
+            long other = 0;
+            for (SignatureStatistics statistics : merged) {
+                other += counter(statistics, errors);
+            }
+            writer.write(name + "{signature=\"" + OTHER + "\"} " + other + "\n");
+        }
+    }
+
+    private static long counter(final SignatureStatistics statistics, final boolean errors) {
+        return errors ? statistics.getErrors() : statistics.getCancellations();
+    }
+
+    private static String escape(final String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * #%L
+ * utils-aop
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.aop.reactive;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+
+/**
+ * Publisher wrapper profiling each subscription: the duration from the
+ * subscription to the completion, the error or the cancellation, and the
+ * number of emitted elements.
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ * @param <T>
+ *            the type of the elements
+ */
+public class ProfilingPublisher<T> implements Publisher<T> {
+
+    private final Publisher<? extends T> source;
+    private final PublisherListener listener;
+    private final boolean single;
+
+    /**
+     * Constructor
+     *
+     * @param source
+     *            the profiled publisher
+     * @param listener
+     *            the listener of the terminated subscriptions
+     * @param single
+     *            {@code true}, if the source emits at most one element (the
+     *            first element terminates the subscription)
+     */
+    public ProfilingPublisher(final Publisher<? extends T> source, final PublisherListener listener, final boolean single) {
+        this.source = source;
+        this.listener = listener;
+        this.single = single;
+    }
+
+    @Override
+    public void subscribe(final Subscriber<? super T> actual) {
+        this.source.subscribe(this.wrap(actual));
+    }
+
+    private <S> Subscriber<S> wrap(final Subscriber<S> actual) {
+        if (ReactiveSupport.REACTOR) {
+            return ReactorPublishers.subscriber(actual, this.listener, this.single);
+        }
+        return new ProfilingSubscriber<>(actual, this.listener, this.single);
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * #%L
+ * utils-aop
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.aop.reactive;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * Subscriber (and subscription) between a profiled publisher and the actual
+ * subscriber, the listener is notified once per subscription.
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ * @param <T>
+ *            the type of the elements
+ */
+class ProfilingSubscriber<T> implements Subscriber<T>, Subscription {
+
+    private final Subscriber<? super T> actual;
+    private final PublisherListener listener;
+    private final boolean single;
+    private final AtomicBoolean terminated = new AtomicBoolean();
+
+    private Subscription upstream;
+    private long start;
+    // signals are serialized, volatile for the cancellation
+    private volatile long elements;
+
+    /**
+     * Constructor
+     *
+     * @param actual
+     *            the actual subscriber
+     * @param listener
+     *            the listener
+     * @param single
+     *            {@code true}, if the first element terminates the
+     *            subscription
+     */
+    ProfilingSubscriber(final Subscriber<? super T> actual, final PublisherListener listener, final boolean single) {
+        this.actual = actual;
+        this.listener = listener;
+        this.single = single;
+    }
+
+    @Override
+    public void onSubscribe(final Subscription subscription) {
+        this.start = System.nanoTime();
+        this.upstream = subscription;
+        this.actual.onSubscribe(this);
+    }
+
+    @Override
+    public void onNext(final T element) {
+        final long count = this.elements + 1;
+        this.elements = count;
+        if (this.single) {
+            this.terminate(null, false);
+        }
+        this.actual.onNext(element);
+    }
+
+    @Override
+    public void onError(final Throwable error) {
+        this.terminate(error, false);
+        this.actual.onError(error);
+    }
+
+    @Override
+    public void onComplete() {
+        this.terminate(null, false);
+        this.actual.onComplete();
+    }
+
+    @Override
+    public void request(final long n) {
+        this.upstream.request(n);
+    }
+
+    @Override
+    public void cancel() {
+        this.terminate(null, true);
+        this.upstream.cancel();
+    }
+
+    private void terminate(final Throwable error, final boolean cancelled) {
+        if (this.terminated.compareAndSet(false, true)) {
+            this.listener.terminated(System.nanoTime() - this.start, this.elements, error, cancelled);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * #%L
+ * utils-aop
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.aop.reactive;
+
+/**
+ * Listener of the terminated subscriptions of a {@link ProfilingPublisher}.
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+@FunctionalInterface
+public interface PublisherListener {
+
+    /**
+     * Called once per subscription, on completion, error or cancellation.
+     * 
+     * @param elapsed
+     *            the duration from the subscription in nanoseconds
+     * @param elements
+     *            the number of emitted elements
+     * @param error
+     *            the error (or {@code null})
+     * @param cancelled
+     *            {@code true}, if the subscription was cancelled
+     */
+    void terminated(long elapsed, long elements, Throwable error, boolean cancelled);
+}
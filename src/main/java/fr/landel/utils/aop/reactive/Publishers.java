@@ -0,0 +1,52 @@
+/*
+ * #%L
+ * utils-aop
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.aop.reactive;
+
+import org.reactivestreams.Publisher;
+
+/**
+ * Reactive Streams profiling (only loaded if the library is present).
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+final class Publishers {
+
+    /**
+     * Hidden constructor
+     */
+    private Publishers() {
+    }
+
+    static Object profile(final Object result, final Class<?> returnType, final PublisherListener listener) {
+        if (!(result instanceof Publisher)) {
+            return null;
+        }
+
+        final Object profiled;
+        if (ReactiveSupport.REACTOR) {
+            profiled = ReactorPublishers.profile((Publisher<?>) result, listener);
+        } else {
+            profiled = new ProfilingPublisher<>((Publisher<?>) result, listener, false);
+        }
+        return returnType.isInstance(profiled) ? profiled : null;
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * #%L
+ * utils-aop
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.aop.reactive;
+
+/**
+ * Optional profiling of the reactive results. The libraries are detected
+ * once, this class doesn't reference them, so nothing is loaded if they are
+ * not in the classpath.
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public final class ReactiveSupport {
+
+    /**
+     * Reactive Streams ({@code org.reactivestreams.Publisher}) in the
+     * classpath
+     */
+    public static final boolean REACTIVE_STREAMS = isPresent("org.reactivestreams.Publisher");
+
+    /**
+     * Reactor ({@code reactor.core.publisher.Flux}) in the classpath
+     */
+    public static final boolean REACTOR = REACTIVE_STREAMS && isPresent("reactor.core.publisher.Flux");
+
+    /**
+     * Hidden constructor
+     */
+    private ReactiveSupport() {
+    }
+
+    private static boolean isPresent(final String className) {
+        try {
+            Class.forName(className, false, ReactiveSupport.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * Wrap a publisher to profile its subscriptions. Reactor {@code Mono} and
+     * {@code Flux} are returned with the same type, other publishers are
+     * only wrapped if the returned type accepts a plain publisher.
+     * 
+     * @param result
+     *            the result of the call
+     * @param returnType
+     *            the declared return type of the call
+     * @param listener
+     *            the listener of the terminated subscriptions
+     * @return the profiled publisher, or {@code null} if the result is not a
+     *         publisher (or cannot be wrapped)
+     */
+    public static Object profile(final Object result, final Class<?> returnType, final PublisherListener listener) {
+        if (REACTIVE_STREAMS && result != null && returnType != null) {
+            return Publishers.profile(result, returnType, listener);
+        }
+        return null;
+    }
+}
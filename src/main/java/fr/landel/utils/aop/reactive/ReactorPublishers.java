@@ -0,0 +1,84 @@
+/*
+ * #%L
+ * utils-aop
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.aop.reactive;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+
+import reactor.core.CoreSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+/**
+ * Reactor profiling (only loaded if the library is present): {@link Mono}
+ * and {@link Flux} keep their type, and the subscriber context is
+ * propagated through the profiling subscriber.
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+final class ReactorPublishers {
+
+    /**
+     * Hidden constructor
+     */
+    private ReactorPublishers() {
+    }
+
+    static Object profile(final Publisher<?> publisher, final PublisherListener listener) {
+        if (publisher instanceof Mono) {
+            // the first element terminates a Mono (Mono.from cancels after it)
+            return Mono.from(new ProfilingPublisher<>(publisher, listener, true));
+        } else if (publisher instanceof Flux) {
+            return Flux.from(new ProfilingPublisher<>(publisher, listener, false));
+        }
+        return new ProfilingPublisher<>(publisher, listener, false);
+    }
+
+    static <T> Subscriber<T> subscriber(final Subscriber<T> actual, final PublisherListener listener, final boolean single) {
+        if (actual instanceof CoreSubscriber) {
+            return new ProfilingCoreSubscriber<>((CoreSubscriber<T>) actual, listener, single);
+        }
+        return new ProfilingSubscriber<>(actual, listener, single);
+    }
+
+    /**
+     * Profiling subscriber with the context of the actual subscriber
+     *
+     * @param <T>
+     *            the type of the elements
+     */
+    private static final class ProfilingCoreSubscriber<T> extends ProfilingSubscriber<T> implements CoreSubscriber<T> {
+
+        private final CoreSubscriber<T> actual;
+
+        private ProfilingCoreSubscriber(final CoreSubscriber<T> actual, final PublisherListener listener, final boolean single) {
+            super(actual, listener, single);
+            this.actual = actual;
+        }
+
+        @Override
+        public Context currentContext() {
+            return this.actual.currentContext();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * #%L
+ * utils-aop
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.aop.render;
+
+/**
+ * Renderer of a domain type, used by the aspect instead of
+ * {@link Object#toString()} for arguments which are not simple types, arrays,
+ * iterables or maps.
+ * 
+ * <p>
+ * Renderers are registered on the aspect or loaded through the
+ * {@link java.util.ServiceLoader} (file
+ * {@code META-INF/services/fr.landel.utils.aop.render.ArgumentRenderer}). A
+ * renderer applies to its type and to all sub types (the most specific
+ * renderer is selected).
+ * </p>
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ * @param <T>
+ *            the rendered type
+ */
+public interface ArgumentRenderer<T> {
+
+    /**
+     * @return the rendered type
+     */
+    Class<T> getType();
+
+    /**
+     * Render the argument directly into the builder (the aspect adds the
+     * class name and the braces around).
+     * 
+     * @param builder
+     *            the log entry builder
+     * @param argument
+     *            the argument (never {@code null})
+     */
+    void render(StringBuilder builder, T argument);
+}
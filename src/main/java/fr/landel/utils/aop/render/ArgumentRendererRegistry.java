@@ -0,0 +1,159 @@
+/*
+ * #%L
+ * utils-aop
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.aop.render;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Registry of the argument renderers. The renderer of each class is resolved
+ * once and cached in a {@link ClassValue} (the cache is rebuilt on each
+ * registration).
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public class ArgumentRendererRegistry {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ArgumentRendererRegistry.class);
+
+    /**
+     * Marker for classes without renderer ({@link ClassValue} doesn't
+     * support {@code null})
+     */
+    private static final Object NONE = new Object();
+
+    /**
+     * The registered renderers by type (copy on write)
+     */
+    private volatile Map<Class<?>, ArgumentRenderer<?>> renderers = Collections.emptyMap();
+
+    /**
+     * The cache of resolved renderers
+     */
+    private volatile ClassValue<Object> cache = this.createCache(this.renderers);
+
+    /**
+     * Register a renderer (replaces the renderer previously registered for
+     * the same type).
+     * 
+     * @param renderer
+     *            the renderer
+     */
+    public synchronized void register(final ArgumentRenderer<?> renderer) {
+        Objects.requireNonNull(renderer, "renderer");
+        Objects.requireNonNull(renderer.getType(), "renderer type");
+
+        final Map<Class<?>, ArgumentRenderer<?>> map = new LinkedHashMap<>(this.renderers);
+        map.put(renderer.getType(), renderer);
+
+        this.renderers = Collections.unmodifiableMap(map);
+        this.cache = this.createCache(this.renderers);
+    }
+
+    /**
+     * Register all renderers declared through the {@link ServiceLoader}. A
+     * provider which cannot be instantiated is logged and skipped, a services
+     * file which cannot be read or parsed is logged and stops the loading
+     * (the iterator cannot go past it).
+     * 
+     * @param classLoader
+     *            the class loader used to find the services
+     */
+    @SuppressWarnings("rawtypes")
+    public void loadServices(final ClassLoader classLoader) {
+        this.loadServices(ServiceLoader.load(ArgumentRenderer.class, classLoader).iterator());
+    }
+
+    @SuppressWarnings("rawtypes")
+    void loadServices(final Iterator<ArgumentRenderer> iterator) {
+        while (hasNext(iterator)) {
+            try {
+                this.register(iterator.next());
+            } catch (ServiceConfigurationError e) {
+                LOGGER.error("Cannot load an argument renderer", e);
+            }
+        }
+    }
+
+    private static boolean hasNext(final Iterator<?> iterator) {
+        try {
+            return iterator.hasNext();
+        } catch (ServiceConfigurationError e) {
+            LOGGER.error("Cannot read the argument renderer services", e);
+            return false;
+        }
+    }
+
+    /**
+     * @return the registered renderers by type
+     */
+    public Map<Class<?>, ArgumentRenderer<?>> getRenderers() {
+        return this.renderers;
+    }
+
+    /**
+     * Find the most specific renderer of the class (cached).
+     * 
+     * @param type
+     *            the argument class
+     * @return the renderer or {@code null} if none
+     */
+    @SuppressWarnings("unchecked")
+    public ArgumentRenderer<Object> find(final Class<?> type) {
+        final Object renderer = this.cache.get(type);
+        if (renderer == NONE) {
+            return null;
+        }
+        return (ArgumentRenderer<Object>) renderer;
+    }
+
+    private ClassValue<Object> createCache(final Map<Class<?>, ArgumentRenderer<?>> map) {
+        return new ClassValue<Object>() {
+            @Override
+            protected Object computeValue(final Class<?> type) {
+                return resolve(map, type);
+            }
+        };
+    }
+
+    private static Object resolve(final Map<Class<?>, ArgumentRenderer<?>> map, final Class<?> type) {
+        ArgumentRenderer<?> found = map.get(type);
+
+        if (found == null) {
+            for (ArgumentRenderer<?> renderer : map.values()) {
+                if (renderer.getType().isAssignableFrom(type) && (found == null || found.getType().isAssignableFrom(renderer.getType()))) {
+                    found = renderer;
+                }
+            }
+        }
+
+        return found != null ? found : NONE;
+    }
+}
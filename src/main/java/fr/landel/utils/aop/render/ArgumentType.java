@@ -0,0 +1,149 @@
+/*
+ * #%L
+ * utils-aop
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.aop.render;
+
+import java.util.Date;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * The argument types, as rendered by the aspect. The type of each class is
+ * resolved once (in the same order as the previous checks) and cached in a
+ * {@link ClassValue}, so the dispatch is a single lookup per argument.
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public enum ArgumentType {
+
+    /**
+     * String
+     */
+    STRING(true),
+
+    /**
+     * Character
+     */
+    CHARACTER(true),
+
+    /**
+     * Number
+     */
+    NUMBER(true),
+
+    /**
+     * Boolean
+     */
+    BOOLEAN(true),
+
+    /**
+     * Enumeration
+     */
+    ENUM(true),
+
+    /**
+     * Date
+     */
+    DATE(true),
+
+    /**
+     * Array
+     */
+    ARRAY(false),
+
+    /**
+     * Iterable or iterator
+     */
+    ITERABLE(false),
+
+    /**
+     * Map
+     */
+    MAP(false),
+
+    /**
+     * Any other object
+     */
+    OBJECT(false);
+
+    /**
+     * Cache of the resolved types
+     */
+    private static final ClassValue<ArgumentType> TYPES = new ClassValue<ArgumentType>() {
+        @Override
+        protected ArgumentType computeValue(final Class<?> type) {
+            return resolve(type);
+        }
+    };
+
+    private final boolean simple;
+
+    ArgumentType(final boolean simple) {
+        this.simple = simple;
+    }
+
+    /**
+     * @return {@code true} for simple types (rendered by
+     *         {@code checkSimpleType})
+     */
+    public boolean isSimple() {
+        return this.simple;
+    }
+
+    /**
+     * Get the argument type of the class (cached).
+     * 
+     * @param type
+     *            the argument class
+     * @return the argument type
+     */
+    public static ArgumentType of(final Class<?> type) {
+        return TYPES.get(type);
+    }
+
+    private static ArgumentType resolve(final Class<?> type) {
+        final ArgumentType argumentType;
+
+        if (String.class.equals(type)) {
+            argumentType = STRING;
+        } else if (Character.class.isAssignableFrom(type)) {
+            argumentType = CHARACTER;
+        } else if (Number.class.isAssignableFrom(type)) {
+            argumentType = NUMBER;
+        } else if (Boolean.class.isAssignableFrom(type)) {
+            argumentType = BOOLEAN;
+        } else if (Enum.class.isAssignableFrom(type)) {
+            argumentType = ENUM;
+        } else if (Date.class.isAssignableFrom(type)) {
+            argumentType = DATE;
+        } else if (type.isArray()) {
+            argumentType = ARRAY;
+        } else if (Iterable.class.isAssignableFrom(type) || Iterator.class.isAssignableFrom(type)) {
+            argumentType = ITERABLE;
+        } else if (Map.class.isAssignableFrom(type)) {
+            argumentType = MAP;
+        } else {
+            argumentType = OBJECT;
+        }
+
+        return argumentType;
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * #%L
+ * utils-aop
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.aop.render;
+
+/**
+ * Rendering mode of the byte arrays.
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public enum ByteArrayMode {
+
+    /**
+     * The first elements, as other arrays: {@code (byte[])[1, 2, 3…]}
+     */
+    ELEMENTS,
+
+    /**
+     * The length and the first bytes in hexadecimal:
+     * {@code (byte[])[length=1024: 0102a3…]}
+     */
+    HEX;
+}
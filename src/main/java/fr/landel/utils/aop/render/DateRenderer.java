@@ -0,0 +1,235 @@
+/*
+ * #%L
+ * utils-aop
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.aop.render;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Date;
+import java.util.Objects;
+
+/**
+ * Thread-safe date renderer, based on {@code java.time} rules. The date is
+ * written with the format {@code yyyy/MM/dd HH:mm:ss.SSS}, or
+ * {@code yyyy/MM/dd} if the time is midnight.
+ *
+ * <p>
+ * Each thread keeps the last rendered day and the last zone offset (with its
+ * validity range), so in the common case (dates of the same day), the
+ * rendering only writes characters into the builder, without any allocation.
+ * </p>
+ * 
+ * <p>
+ * Dates are rendered with the proleptic ISO calendar (no Julian calendar
+ * before 1582, unlike {@link java.text.SimpleDateFormat}).
+ * </p>
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public class DateRenderer {
+
+    private static final long MILLIS_PER_SECOND = 1_000L;
+    private static final long MILLIS_PER_MINUTE = 60 * MILLIS_PER_SECOND;
+    private static final long MILLIS_PER_HOUR = 60 * MILLIS_PER_MINUTE;
+    private static final long MILLIS_PER_DAY = 24 * MILLIS_PER_HOUR;
+
+    private static final int YEAR_DIGITS = 4;
+
+    private static final char DATE_SEPARATOR = '/';
+    private static final char DATE_TIME_SEPARATOR = ' ';
+    private static final char TIME_SEPARATOR = ':';
+    private static final char MILLIS_SEPARATOR = '.';
+
+    /**
+     * The zone rules
+     */
+    private final ZoneRules rules;
+
+    /**
+     * The per thread cache
+     */
+    private final ThreadLocal<Cache> cache = ThreadLocal.withInitial(Cache::new);
+
+    /**
+     * Constructor with the system default zone.
+     */
+    public DateRenderer() {
+        this(ZoneId.systemDefault());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param zoneId
+     *            the zone in which dates are rendered
+     */
+    public DateRenderer(final ZoneId zoneId) {
+        this.rules = Objects.requireNonNull(zoneId, "zoneId").getRules();
+    }
+
+    /**
+     * Append the date into the builder.
+     *
+     * @param builder
+     *            the builder
+     * @param date
+     *            the date
+     */
+    public void append(final StringBuilder builder, final Date date) {
+        this.append(builder, date.getTime());
+    }
+
+    /**
+     * Append the date into the builder.
+     *
+     * @param builder
+     *            the builder
+     * @param epochMillis
+     *            the date in milliseconds since epoch
+     */
+    public void append(final StringBuilder builder, final long epochMillis) {
+        final Cache threadCache = this.cache.get();
+
+        final long localMillis = epochMillis + threadCache.offset(this.rules, epochMillis);
+        final long epochDay = Math.floorDiv(localMillis, MILLIS_PER_DAY);
+        final long millisOfDay = Math.floorMod(localMillis, MILLIS_PER_DAY);
+
+        builder.append(threadCache.prefix(epochDay), 0, threadCache.prefixLength);
+
+        if (millisOfDay > 0) {
+            builder.append(DATE_TIME_SEPARATOR);
+            appendTwoDigits(builder, (int) (millisOfDay / MILLIS_PER_HOUR));
+            builder.append(TIME_SEPARATOR);
+            appendTwoDigits(builder, (int) (millisOfDay % MILLIS_PER_HOUR / MILLIS_PER_MINUTE));
+            builder.append(TIME_SEPARATOR);
+            appendTwoDigits(builder, (int) (millisOfDay % MILLIS_PER_MINUTE / MILLIS_PER_SECOND));
+            builder.append(MILLIS_SEPARATOR);
+            final int millis = (int) (millisOfDay % MILLIS_PER_SECOND);
+            builder.append((char) ('0' + millis / 100));
+            appendTwoDigits(builder, millis % 100);
+        }
+    }
+
+    /**
+     * Format the date.
+     *
+     * @param date
+     *            the date
+     * @return the formatted date
+     */
+    public String format(final Date date) {
+        final StringBuilder builder = new StringBuilder(YEAR_DIGITS + 19);
+        this.append(builder, date);
+        return builder.toString();
+    }
+
+    private static void appendTwoDigits(final StringBuilder builder, final int value) {
+        builder.append((char) ('0' + value / 10)).append((char) ('0' + value % 10));
+    }
+
+    /**
+     * Per thread cache (last day prefix and last zone offset).
+     *
+     * @since Oct 18, 2026
+     * @author Gilles
+     *
+     */
+    private static final class Cache {
+
+        private long epochDay = Long.MIN_VALUE;
+        private final char[] prefix = new char[20];
+        private int prefixLength;
+
+        private long offsetMillis;
+        private long offsetFrom = Long.MAX_VALUE;
+        private long offsetUntil = Long.MIN_VALUE;
+
+        private long offset(final ZoneRules rules, final long epochMillis) {
+            if (epochMillis < this.offsetFrom || epochMillis >= this.offsetUntil) {
+                final Instant instant = Instant.ofEpochMilli(epochMillis);
+                this.offsetMillis = rules.getOffset(instant).getTotalSeconds() * MILLIS_PER_SECOND;
+
+                if (rules.isFixedOffset()) {
+                    this.offsetFrom = Long.MIN_VALUE;
+                    this.offsetUntil = Long.MAX_VALUE;
+                } else {
+                    // transitions are on whole seconds, so the previous
+                    // transition of the next millisecond is the last one
+                    // before or at the instant
+                    final ZoneOffsetTransition previous = rules.previousTransition(instant.plusMillis(1));
+                    final ZoneOffsetTransition next = rules.nextTransition(instant);
+
+                    this.offsetFrom = previous != null ? previous.toEpochSecond() * MILLIS_PER_SECOND : Long.MIN_VALUE;
+                    this.offsetUntil = next != null ? next.toEpochSecond() * MILLIS_PER_SECOND : Long.MAX_VALUE;
+                }
+            }
+            return this.offsetMillis;
+        }
+
+        private char[] prefix(final long day) {
+            if (day != this.epochDay) {
+                final LocalDate date = LocalDate.ofEpochDay(day);
+
+                int year = date.getYear();
+                if (year <= 0) {
+                    // year of era, as SimpleDateFormat
+                    year = 1 - year;
+                }
+
+                int length = 0;
+                do {
+                    this.prefix[length++] = (char) ('0' + year % 10);
+                    year /= 10;
+                } while (year > 0);
+                while (length < YEAR_DIGITS) {
+                    this.prefix[length++] = '0';
+                }
+                reverse(this.prefix, 0, length - 1);
+
+                this.prefix[length++] = DATE_SEPARATOR;
+                length = writeTwoDigits(this.prefix, length, date.getMonthValue());
+                this.prefix[length++] = DATE_SEPARATOR;
+                length = writeTwoDigits(this.prefix, length, date.getDayOfMonth());
+
+                this.prefixLength = length;
+                this.epochDay = day;
+            }
+            return this.prefix;
+        }
+
+        private static int writeTwoDigits(final char[] chars, final int index, final int value) {
+            chars[index] = (char) ('0' + value / 10);
+            chars[index + 1] = (char) ('0' + value % 10);
+            return index + 2;
+        }
+
+        private static void reverse(final char[] chars, final int from, final int to) {
+            for (int i = from, j = to; i < j; i++, j--) {
+                final char c = chars[i];
+                chars[i] = chars[j];
+                chars[j] = c;
+            }
+        }
+    }
+}
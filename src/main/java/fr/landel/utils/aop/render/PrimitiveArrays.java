@@ -0,0 +1,297 @@
+/*
+ * #%L
+ * utils-aop
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.aop.render;
+
+import fr.landel.utils.commons.EnumChar;
+
+/**
+ * Renderers of primitive arrays. Elements are appended directly into the
+ * builder (no boxing, no wrapping, no intermediate string).
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public final class PrimitiveArrays {
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private static final String LENGTH = "length=";
+    private static final String LENGTH_SEPARATOR = ": ";
+
+    private static final ElementAppender<boolean[]> BOOLEANS = (builder, array, i) -> builder.append(array[i]);
+    private static final ElementAppender<byte[]> BYTES = (builder, array, i) -> builder.append(array[i]);
+    private static final ElementAppender<char[]> CHARS = (builder, array, i) -> builder.append(array[i]);
+    private static final ElementAppender<short[]> SHORTS = (builder, array, i) -> builder.append(array[i]);
+    private static final ElementAppender<int[]> INTS = (builder, array, i) -> builder.append(array[i]);
+    private static final ElementAppender<long[]> LONGS = (builder, array, i) -> builder.append(array[i]);
+    private static final ElementAppender<float[]> FLOATS = (builder, array, i) -> builder.append(array[i]);
+    private static final ElementAppender<double[]> DOUBLES = (builder, array, i) -> builder.append(array[i]);
+
+    /**
+     * Hidden constructor.
+     */
+    private PrimitiveArrays() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Append the first elements of the primitive array, between brackets
+     * (followed by an ellipsis, if the array has more elements).
+     * 
+     * @param builder
+     *            the builder
+     * @param array
+     *            the primitive array
+     * @param max
+     *            the maximum number of elements (or bytes in hexadecimal
+     *            mode)
+     * @param limit
+     *            the maximum length of the builder (elements are no longer
+     *            appended once reached)
+     * @param byteArrayMode
+     *            the rendering mode of byte arrays
+     * @return {@code true} if rendered, {@code false} if not a primitive
+     *         array
+     */
+    public static boolean append(final StringBuilder builder, final Object array, final int max, final int limit,
+            final ByteArrayMode byteArrayMode) {
+        boolean done = true;
+
+        if (array instanceof int[]) {
+            append(builder, (int[]) array, max, limit);
+        } else if (array instanceof long[]) {
+            append(builder, (long[]) array, max, limit);
+        } else if (array instanceof byte[]) {
+            if (ByteArrayMode.HEX.equals(byteArrayMode)) {
+                appendHex(builder, (byte[]) array, max, limit);
+            } else {
+                append(builder, (byte[]) array, max, limit);
+            }
+        } else if (array instanceof double[]) {
+            append(builder, (double[]) array, max, limit);
+        } else if (array instanceof char[]) {
+            append(builder, (char[]) array, max, limit);
+        } else if (array instanceof boolean[]) {
+            append(builder, (boolean[]) array, max, limit);
+        } else if (array instanceof float[]) {
+            append(builder, (float[]) array, max, limit);
+        } else if (array instanceof short[]) {
+            append(builder, (short[]) array, max, limit);
+        } else {
+            done = false;
+        }
+
+        return done;
+    }
+
+    /**
+     * Append the first elements of the array, between brackets, separated by
+     * a comma (followed by an ellipsis, if the array has more elements or if
+     * the builder limit is reached). The other overloads do the same for
+     * their element type.
+     * 
+     * @param builder
+     *            the builder
+     * @param array
+     *            the array
+     * @param max
+     *            the maximum number of elements
+     * @param limit
+     *            the maximum length of the builder
+     */
+    public static void append(final StringBuilder builder, final boolean[] array, final int max, final int limit) {
+        append(builder, array, array.length, max, limit, BOOLEANS);
+    }
+
+    /**
+     * See {@link #append(StringBuilder, boolean[], int, int)}.
+     * 
+     * @param builder
+     *            the builder
+     * @param array
+     *            the array
+     * @param max
+     *            the maximum number of elements
+     * @param limit
+     *            the maximum length of the builder
+     */
+    public static void append(final StringBuilder builder, final byte[] array, final int max, final int limit) {
+        append(builder, array, array.length, max, limit, BYTES);
+    }
+
+    /**
+     * See {@link #append(StringBuilder, boolean[], int, int)}.
+     * 
+     * @param builder
+     *            the builder
+     * @param array
+     *            the array
+     * @param max
+     *            the maximum number of elements
+     * @param limit
+     *            the maximum length of the builder
+     */
+    public static void append(final StringBuilder builder, final char[] array, final int max, final int limit) {
+        append(builder, array, array.length, max, limit, CHARS);
+    }
+
+    /**
+     * See {@link #append(StringBuilder, boolean[], int, int)}.
+     * 
+     * @param builder
+     *            the builder
+     * @param array
+     *            the array
+     * @param max
+     *            the maximum number of elements
+     * @param limit
+     *            the maximum length of the builder
+     */
+    public static void append(final StringBuilder builder, final short[] array, final int max, final int limit) {
+        append(builder, array, array.length, max, limit, SHORTS);
+    }
+
+    /**
+     * See {@link #append(StringBuilder, boolean[], int, int)}.
+     * 
+     * @param builder
+     *            the builder
+     * @param array
+     *            the array
+     * @param max
+     *            the maximum number of elements
+     * @param limit
+     *            the maximum length of the builder
+     */
+    public static void append(final StringBuilder builder, final int[] array, final int max, final int limit) {
+        append(builder, array, array.length, max, limit, INTS);
+    }
+
+    /**
+     * See {@link #append(StringBuilder, boolean[], int, int)}.
+     * 
+     * @param builder
+     *            the builder
+     * @param array
+     *            the array
+     * @param max
+     *            the maximum number of elements
+     * @param limit
+     *            the maximum length of the builder
+     */
+    public static void append(final StringBuilder builder, final long[] array, final int max, final int limit) {
+        append(builder, array, array.length, max, limit, LONGS);
+    }
+
+    /**
+     * See {@link #append(StringBuilder, boolean[], int, int)}.
+     * 
+     * @param builder
+     *            the builder
+     * @param array
+     *            the array
+     * @param max
+     *            the maximum number of elements
+     * @param limit
+     *            the maximum length of the builder
+     */
+    public static void append(final StringBuilder builder, final float[] array, final int max, final int limit) {
+        append(builder, array, array.length, max, limit, FLOATS);
+    }
+
+    /**
+     * See {@link #append(StringBuilder, boolean[], int, int)}.
+     * 
+     * @param builder
+     *            the builder
+     * @param array
+     *            the array
+     * @param max
+     *            the maximum number of elements
+     * @param limit
+     *            the maximum length of the builder
+     */
+    public static void append(final StringBuilder builder, final double[] array, final int max, final int limit) {
+        append(builder, array, array.length, max, limit, DOUBLES);
+    }
+
+    /**
+     * Append the length and the first bytes of the array in hexadecimal,
+     * between brackets: {@code [length=1024: 0102a3…]}.
+     * 
+     * @param builder
+     *            the builder
+     * @param array
+     *            the array
+     * @param max
+     *            the maximum number of bytes
+     * @param limit
+     *            the maximum length of the builder
+     */
+    public static void appendHex(final StringBuilder builder, final byte[] array, final int max, final int limit) {
+        final int length = Math.min(array.length, max);
+
+        builder.append(EnumChar.BRACKET_LEFT).append(LENGTH).append(array.length);
+        int i = 0;
+        if (length > 0) {
+            builder.append(LENGTH_SEPARATOR);
+            for (; i < length && builder.length() < limit; i++) {
+                builder.append(HEX_DIGITS[(array[i] >> 4) & 0x0F]).append(HEX_DIGITS[array[i] & 0x0F]);
+            }
+        }
+        end(builder, array.length > i);
+    }
+
+    private static <A> void append(final StringBuilder builder, final A array, final int arrayLength, final int max, final int limit,
+            final ElementAppender<A> appender) {
+        final int length = Math.min(arrayLength, max);
+
+        int i = 0;
+        builder.append(EnumChar.BRACKET_LEFT);
+        for (; i < length && builder.length() < limit; i++) {
+            if (i > 0) {
+                builder.append(EnumChar.COMMA).append(EnumChar.SPACE);
+            }
+            appender.append(builder, array, i);
+        }
+        end(builder, arrayLength > i);
+    }
+
+    private static void end(final StringBuilder builder, final boolean truncated) {
+        if (truncated) {
+            builder.append(EnumChar.ELLIPSIS);
+        }
+        builder.append(EnumChar.BRACKET_RIGHT);
+    }
+
+    /**
+     * Append the element at the index (one stateless instance per primitive
+     * type, nothing is allocated per call).
+     *
+     * @param <A>
+     *            the array type
+     */
+    @FunctionalInterface
+    private interface ElementAppender<A> {
+
+        void append(StringBuilder builder, A array, int index);
+    }
+}
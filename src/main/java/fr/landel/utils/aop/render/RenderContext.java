@@ -0,0 +1,210 @@
+/*
+ * #%L
+ * utils-aop
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.aop.render;
+
+/**
+ * Per thread rendering context, holding the character budget of the
+ * argument being rendered. The limit is an absolute length of the log entry
+ * builder; renderers must stop appending once it's reached (the aspect then
+ * truncates the argument and adds an ellipsis).
+ * 
+ * <p>
+ * The context also pools the signature builder of the thread, so a
+ * signature reuses it instead of creating and growing a new one. A builder
+ * grown over {@value #MAX_POOLED_CAPACITY} characters isn't kept, and a
+ * reentrant rendering (an argument {@code toString} calling an advised
+ * method) gets a new builder.
+ * </p>
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public final class RenderContext {
+
+    private static final ThreadLocal<RenderContext> CONTEXT = ThreadLocal.withInitial(RenderContext::new);
+
+    private static final String NULL = "null";
+
+    /**
+     * Initial capacity of the builders
+     */
+    public static final int INITIAL_CAPACITY = 256;
+
+    /**
+     * Maximum capacity of the pooled builder
+     */
+    public static final int MAX_POOLED_CAPACITY = 16 * 1024;
+
+    private int limit = Integer.MAX_VALUE;
+    private boolean truncated;
+
+    private StringBuilder builder;
+    private boolean builderInUse;
+
+    /**
+     * Hidden constructor.
+     */
+    private RenderContext() {
+    }
+
+    /**
+     * @return the context of the current thread
+     */
+    public static RenderContext get() {
+        return CONTEXT.get();
+    }
+
+    /**
+     * Acquire the builder of the thread (empty), or a new one if it's
+     * already in use. It must be released after use.
+     * 
+     * @return the builder
+     */
+    public StringBuilder acquireBuilder() {
+        if (this.builderInUse) {
+            return new StringBuilder(INITIAL_CAPACITY);
+        }
+
+        if (this.builder == null) {
+            this.builder = new StringBuilder(INITIAL_CAPACITY);
+        } else {
+            this.builder.setLength(0);
+        }
+        this.builderInUse = true;
+
+        return this.builder;
+    }
+
+    /**
+     * Release the builder.
+     * 
+     * @param used
+     *            the builder returned by {@link #acquireBuilder()}
+     */
+    public void releaseBuilder(final StringBuilder used) {
+        if (used == this.builder) {
+            this.builderInUse = false;
+            if (used.capacity() > MAX_POOLED_CAPACITY) {
+                this.builder = null;
+            }
+        }
+    }
+
+    /**
+     * @return the limit (absolute length of the builder)
+     */
+    public int getLimit() {
+        return this.limit;
+    }
+
+    /**
+     * Set the limit and reset the truncated flag.
+     * 
+     * @param limit
+     *            the limit (absolute length of the builder)
+     */
+    public void setLimit(final int limit) {
+        this.limit = limit;
+        this.truncated = false;
+    }
+
+    /**
+     * Restore a previous state (for reentrant rendering).
+     * 
+     * @param limit
+     *            the previous limit
+     * @param truncated
+     *            the previous truncated flag
+     */
+    public void restore(final int limit, final boolean truncated) {
+        this.limit = limit;
+        this.truncated = truncated;
+    }
+
+    /**
+     * @return {@code true} if a value has been truncated since the last
+     *         {@link #setLimit(int)}
+     */
+    public boolean isTruncated() {
+        return this.truncated;
+    }
+
+    /**
+     * Get the remaining budget.
+     * 
+     * @param builder
+     *            the builder
+     * @return the number of characters that can still be appended
+     */
+    public int remaining(final StringBuilder builder) {
+        return Math.max(0, this.limit - builder.length());
+    }
+
+    /**
+     * Check if the budget is used up.
+     * 
+     * @param builder
+     *            the builder
+     * @return {@code true} if nothing more should be appended
+     */
+    public boolean isExhausted(final StringBuilder builder) {
+        return this.truncated || builder.length() >= this.limit;
+    }
+
+    /**
+     * Append the characters within the remaining budget (only the part that
+     * fits is copied).
+     * 
+     * @param builder
+     *            the builder
+     * @param chars
+     *            the characters
+     */
+    public void append(final StringBuilder builder, final CharSequence chars) {
+        final int remaining = this.remaining(builder);
+        if (chars.length() <= remaining) {
+            builder.append(chars);
+        } else {
+            builder.append(chars, 0, remaining);
+            this.truncated = true;
+        }
+    }
+
+    /**
+     * Append the object (through its {@link Object#toString()}) within the
+     * remaining budget.
+     * 
+     * @param builder
+     *            the builder
+     * @param object
+     *            the object (may be {@code null})
+     */
+    public void append(final StringBuilder builder, final Object object) {
+        if (object == null) {
+            this.append(builder, NULL);
+        } else if (object instanceof CharSequence) {
+            this.append(builder, (CharSequence) object);
+        } else {
+            final String string = object.toString();
+            this.append(builder, string != null ? string : NULL);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * #%L
+ * utils-aop
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.aop.sampling;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rate limit of a {@link TokenBucket} (immutable): permits per second and
+ * burst.
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public final class RateLimit {
+
+    private final double permitsPerSecond;
+    private final int burst;
+    private final long interval;
+    private final long tolerance;
+
+    /**
+     * Constructor
+     *
+     * @param permitsPerSecond
+     *            the sustained rate (positive)
+     * @param burst
+     *            the maximum number of permits at once (at least 1)
+     */
+    public RateLimit(final double permitsPerSecond, final int burst) {
+        if (!(permitsPerSecond > 0)) {
+            throw new IllegalArgumentException("The number of permits per second has to be positive");
+        } else if (burst < 1) {
+            throw new IllegalArgumentException("The burst has to be at least 1");
+        }
+
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = burst;
+        this.interval = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond));
+        this.tolerance = this.interval * (burst - 1);
+    }
+
+    /**
+     * @return the sustained rate
+     */
+    public double getPermitsPerSecond() {
+        return this.permitsPerSecond;
+    }
+
+    /**
+     * @return the burst
+     */
+    public int getBurst() {
+        return this.burst;
+    }
+
+    /**
+     * @return the emission interval in nanoseconds
+     */
+    long getInterval() {
+        return this.interval;
+    }
+
+    /**
+     * @return the burst tolerance in nanoseconds
+     */
+    long getTolerance() {
+        return this.tolerance;
+    }
+
+    @Override
+    public String toString() {
+        return this.permitsPerSecond + "/s (burst: " + this.burst + ")";
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * #%L
+ * utils-aop
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.aop.sampling;
+
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import fr.landel.utils.aop.signature.SignatureEntry;
+
+/**
+ * Decides if a call is sampled (immutable). The decision doesn't allocate
+ * and doesn't render anything.
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public final class Sampler {
+
+    /**
+     * Sampler of all calls
+     */
+    public static final Sampler ALL = new Sampler(SamplingMode.ALL, 1);
+
+    private final SamplingMode mode;
+    private final double rate;
+    private final long oneIn;
+    private final long interval;
+    private final ThreadLocal<long[]> countdowns;
+
+    /**
+     * Constructor
+     *
+     * @param mode
+     *            the sampling mode
+     * @param rate
+     *            the rate: N for {@link SamplingMode#ONE_IN_N} (an integer,
+     *            at least 1),
+     *            the probability for {@link SamplingMode#PROBABILISTIC}
+     *            (between 0 and 1), the calls per second for
+     *            {@link SamplingMode#RATE_LIMITED} (positive), ignored for
+     *            {@link SamplingMode#ALL}
+     */
+    public Sampler(final SamplingMode mode, final double rate) {
+        this.mode = Objects.requireNonNull(mode, "mode");
+        this.rate = rate;
+
+        if (SamplingMode.ONE_IN_N.equals(mode) && !(rate >= 1 && rate <= Long.MAX_VALUE && rate == Math.rint(rate))) {
+            throw new IllegalArgumentException("The rate of one call in N has to be an integer of at least 1");
+        } else if (SamplingMode.PROBABILISTIC.equals(mode) && !(rate >= 0 && rate <= 1)) {
+            throw new IllegalArgumentException("The sampling probability has to be between 0 and 1");
+        } else if (SamplingMode.RATE_LIMITED.equals(mode) && !(rate > 0)) {
+            throw new IllegalArgumentException("The number of calls per second has to be positive");
+        }
+
+        this.oneIn = (long) rate;
+        this.interval = SamplingMode.RATE_LIMITED.equals(mode) ? (long) (TimeUnit.SECONDS.toNanos(1) / rate) : 0;
+        // per thread, so the decision doesn't write any shared state
+        this.countdowns = SamplingMode.ONE_IN_N.equals(mode) ? ThreadLocal.withInitial(() -> new long[] {this.oneIn}) : null;
+    }
+
+    /**
+     * @return the sampling mode
+     */
+    public SamplingMode getMode() {
+        return this.mode;
+    }
+
+    /**
+     * @return the sampling rate
+     */
+    public double getRate() {
+        return this.rate;
+    }
+
+    /**
+     * Decide if the call is sampled.
+     * 
+     * @param entry
+     *            the signature entry of the call (for the per signature
+     *            rate)
+     * @return {@code true} if sampled
+     */
+    public boolean sample(final SignatureEntry entry) {
+        switch (this.mode) {
+        case ALL:
+            return true;
+        case ONE_IN_N:
+            final long[] countdown = this.countdowns.get();
+            if (--countdown[0] > 0) {
+                return false;
+            }
+            countdown[0] = this.oneIn;
+            return true;
+        case PROBABILISTIC:
+            return ThreadLocalRandom.current().nextDouble() < this.rate;
+        default:
+            return entry.trySample(System.nanoTime(), this.interval);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return this.mode + "(" + this.rate + ")";
+    }
+}
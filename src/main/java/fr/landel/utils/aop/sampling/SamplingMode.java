@@ -0,0 +1,50 @@
+/*
+ * #%L
+ * utils-aop
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.aop.sampling;
+
+/**
+ * Sampling modes of the logged calls.
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public enum SamplingMode {
+
+    /**
+     * All calls are sampled
+     */
+    ALL,
+
+    /**
+     * One call in N per thread (the rate is N), counted per sampler
+     */
+    ONE_IN_N,
+
+    /**
+     * Each call is sampled with a probability (the rate is between 0 and 1)
+     */
+    PROBABILISTIC,
+
+    /**
+     * At most N calls per second per signature (the rate is N)
+     */
+    RATE_LIMITED
+}
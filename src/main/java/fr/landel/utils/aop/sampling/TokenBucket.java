@@ -0,0 +1,78 @@
+/*
+ * #%L
+ * utils-aop
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.aop.sampling;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket, implemented as a generic cell rate algorithm
+ * (GCRA): the only state is the theoretical arrival time in one
+ * {@link AtomicLong}. The refused permits are counted until drained.
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public class TokenBucket {
+
+    private final AtomicLong theoreticalArrival = new AtomicLong(System.nanoTime());
+    private final AtomicLong suppressed = new AtomicLong();
+
+    /**
+     * Try to acquire a permit.
+     * 
+     * @param now
+     *            the current time in nanoseconds ({@link System#nanoTime()})
+     * @param limit
+     *            the rate limit
+     * @return {@code true} if acquired, otherwise the permit is counted as
+     *         suppressed
+     */
+    public boolean tryAcquire(final long now, final RateLimit limit) {
+        for (;;) {
+            final long arrival = this.theoreticalArrival.get();
+            if (now - (arrival - limit.getTolerance()) < 0) {
+                this.suppressed.incrementAndGet();
+                return false;
+            }
+
+            final long next = (now - arrival > 0 ? now : arrival) + limit.getInterval();
+            if (this.theoreticalArrival.compareAndSet(arrival, next)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * @return the number of suppressed permits since the last drain
+     */
+    public long getSuppressed() {
+        return this.suppressed.get();
+    }
+
+    /**
+     * Get and reset the number of suppressed permits.
+     * 
+     * @return the number of suppressed permits since the last drain
+     */
+    public long drainSuppressed() {
+        return this.suppressed.get() == 0 ? 0 : this.suppressed.getAndSet(0);
+    }
+}
@@ -0,0 +1,244 @@
+/*
+ * #%L
+ * utils-aop
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.aop.signature;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.Signature;
+import org.aspectj.lang.reflect.CodeSignature;
+import org.aspectj.lang.reflect.MethodSignature;
+
+import fr.landel.utils.aop.annotation.Profiled;
+import fr.landel.utils.aop.sampling.TokenBucket;
+import fr.landel.utils.aop.stats.SignatureStatistics;
+import fr.landel.utils.commons.EnumChar;
+
+/**
+ * The static parts of a join point signature (target class and method),
+ * computed once per signature and target class.
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public class SignatureEntry {
+
+    /**
+     * Threshold not defined by a {@link Profiled} annotation
+     */
+    public static final long UNDEFINED_THRESHOLD = -1;
+
+    private final boolean overflow;
+    private final Class<?> targetClass;
+    private final String methodName;
+    private final String prefix;
+    private final String shortString;
+    private final String name;
+    private final SignatureStatistics statistics;
+    private final long threshold;
+    private final AtomicLong nextSample = new AtomicLong(System.nanoTime());
+    private final TokenBucket logLimiter = new TokenBucket();
+
+    /**
+     * Constructor.
+     *
+     * @param targetClass
+     *            the target class
+     * @param joinPoint
+     *            the join point
+     */
+    SignatureEntry(final Class<?> targetClass, final JoinPoint joinPoint) {
+        this.overflow = false;
+        this.targetClass = targetClass;
+        this.methodName = joinPoint.getSignature().getName();
+        this.prefix = new StringBuilder().append(targetClass).append(EnumChar.DOT).append(this.methodName)
+                .append(EnumChar.PARENTHESIS_LEFT).toString();
+        this.shortString = joinPoint.toShortString();
+        this.name = buildName(targetClass, joinPoint.getSignature());
+        this.statistics = new SignatureStatistics(this.name);
+
+        final Signature signature = joinPoint.getSignature();
+        if (signature instanceof MethodSignature) {
+            this.threshold = resolveThreshold(targetClass, ((MethodSignature) signature).getMethod());
+        } else {
+            this.threshold = resolveThreshold(targetClass, signature.getDeclaringType());
+        }
+    }
+
+    /**
+     * Constructor of the overflow entry, shared by the signatures beyond the
+     * registry capacity (without target class, method name and threshold).
+     *
+     * @param name
+     *            the name of the entry
+     */
+    SignatureEntry(final String name) {
+        this.overflow = true;
+        this.targetClass = null;
+        this.methodName = null;
+        this.prefix = name + EnumChar.PARENTHESIS_LEFT;
+        this.shortString = name;
+        this.name = name;
+        this.statistics = new SignatureStatistics(name);
+        this.threshold = UNDEFINED_THRESHOLD;
+    }
+
+    /**
+     * Resolve the threshold of the method, from the {@link Profiled}
+     * annotation of its implementation in the target class, of the method,
+     * of the target class or of the declaring class.
+     * 
+     * @param targetClass
+     *            the target class
+     * @param method
+     *            the method
+     * @return the threshold in nanoseconds or {@link #UNDEFINED_THRESHOLD}
+     */
+    static long resolveThreshold(final Class<?> targetClass, final Method method) {
+        long threshold = UNDEFINED_THRESHOLD;
+        if (!method.getDeclaringClass().equals(targetClass)) {
+            try {
+                threshold = toNanos(targetClass.getMethod(method.getName(), method.getParameterTypes()).getAnnotation(Profiled.class));
+            } catch (NoSuchMethodException | SecurityException e) {
+                // not public in the target class
+            }
+        }
+        if (threshold == UNDEFINED_THRESHOLD) {
+            threshold = toNanos(method.getAnnotation(Profiled.class));
+        }
+        if (threshold == UNDEFINED_THRESHOLD) {
+            threshold = resolveThreshold(targetClass, method.getDeclaringClass());
+        }
+        return threshold;
+    }
+
+    private static long resolveThreshold(final Class<?> targetClass, final Class<?> declaringType) {
+        final long threshold = toNanos(targetClass.getAnnotation(Profiled.class));
+        if (threshold == UNDEFINED_THRESHOLD && declaringType != null) {
+            return toNanos(declaringType.getAnnotation(Profiled.class));
+        }
+        return threshold;
+    }
+
+    private static long toNanos(final Profiled profiled) {
+        if (profiled != null && profiled.threshold() >= 0) {
+            return profiled.unit().toNanos(profiled.threshold());
+        }
+        return UNDEFINED_THRESHOLD;
+    }
+
+    private static String buildName(final Class<?> targetClass, final Signature signature) {
+        final StringBuilder sb = new StringBuilder().append(targetClass.getName()).append(EnumChar.DOT).append(signature.getName());
+        if (signature instanceof CodeSignature) {
+            sb.append(EnumChar.PARENTHESIS_LEFT);
+            final Class<?>[] parameterTypes = ((CodeSignature) signature).getParameterTypes();
+            for (int i = 0; i < parameterTypes.length; i++) {
+                if (i > 0) {
+                    sb.append(EnumChar.COMMA);
+                }
+                sb.append(parameterTypes[i].getTypeName());
+            }
+            sb.append(EnumChar.PARENTHESIS_RIGHT);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * @return true, if it's the overflow entry, shared by the signatures
+     *         beyond the registry capacity (its prefix is not the one of the
+     *         calls)
+     */
+    public boolean isOverflow() {
+        return this.overflow;
+    }
+
+    /**
+     * @return the target class
+     */
+    public Class<?> getTargetClass() {
+        return this.targetClass;
+    }
+
+    /**
+     * @return the method name
+     */
+    public String getMethodName() {
+        return this.methodName;
+    }
+
+    /**
+     * @return the signature prefix (target class, method name and opening
+     *         parenthesis)
+     */
+    public String getPrefix() {
+        return this.prefix;
+    }
+
+    /**
+     * @return the signature name (target class name, method name and
+     *         parameter type names), unique per entry
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * @return the statistics of the signature
+     */
+    public SignatureStatistics getStatistics() {
+        return this.statistics;
+    }
+
+    /**
+     * @return the slow call threshold in nanoseconds defined by a
+     *         {@link Profiled} annotation or {@link #UNDEFINED_THRESHOLD}
+     */
+    public long getThreshold() {
+        return this.threshold;
+    }
+
+    /**
+     * Try to sample a call, at most one per interval.
+     * 
+     * @param now
+     *            the current time in nanoseconds ({@link System#nanoTime()})
+     * @param interval
+     *            the minimum interval between samples in nanoseconds
+     * @return {@code true} if sampled
+     */
+    public boolean trySample(final long now, final long interval) {
+        final long next = this.nextSample.get();
+        return now - next >= 0 && this.nextSample.compareAndSet(next, now + interval);
+    }
+
+    /**
+     * @return the limiter of the log lines
+     */
+    public TokenBucket getLogLimiter() {
+        return this.logLimiter;
+    }
+
+    @Override
+    public String toString() {
+        return this.shortString;
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * #%L
+ * utils-aop
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.aop.signature;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.Signature;
+import org.aspectj.lang.reflect.MethodSignature;
+
+/**
+ * Registry of the signature entries of an aspect. Entries are stored per
+ * target class (in a {@link ClassValue}) and per method (or per signature
+ * for other join points). The number of entries is bounded: once full, new
+ * signatures share the overflow entry (named {@value #OVERFLOW_NAME}),
+ * created on the first overflow.
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public class SignatureRegistry {
+
+    /**
+     * Default maximum number of entries
+     */
+    public static final int DEFAULT_MAX_ENTRIES = 10_000;
+
+    /**
+     * Name of the overflow entry
+     */
+    public static final String OVERFLOW_NAME = "overflow";
+
+    private final int maxEntries;
+    private final AtomicInteger size = new AtomicInteger();
+    private final Queue<SignatureEntry> all = new ConcurrentLinkedQueue<>();
+    private volatile SignatureEntry overflow;
+
+    private final ClassValue<ConcurrentMap<Object, SignatureEntry>> entries = new ClassValue<ConcurrentMap<Object, SignatureEntry>>() {
+        @Override
+        protected ConcurrentMap<Object, SignatureEntry> computeValue(final Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    /**
+     * Constructor with the default maximum number of entries.
+     */
+    public SignatureRegistry() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param maxEntries
+     *            the maximum number of entries
+     */
+    public SignatureRegistry(final int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Get the entry of the join point (created on first call, or the
+     * overflow entry once the registry is full).
+     * 
+     * @param joinPoint
+     *            the join point
+     * @return the entry
+     */
+    public SignatureEntry get(final JoinPoint joinPoint) {
+        final Signature signature = joinPoint.getSignature();
+        final Object target = joinPoint.getTarget();
+        final Class<?> targetClass = target != null ? target.getClass() : signature.getDeclaringType();
+
+        // methods are stable keys (Spring creates a signature per call)
+        final Object key = signature instanceof MethodSignature ? ((MethodSignature) signature).getMethod() : signature;
+
+        final ConcurrentMap<Object, SignatureEntry> classEntries = this.entries.get(targetClass);
+
+        SignatureEntry entry = classEntries.get(key);
+        if (entry == null) {
+            if (this.size.get() >= this.maxEntries) {
+                return this.getOverflow();
+            }
+
+            entry = new SignatureEntry(targetClass, joinPoint);
+            final SignatureEntry previous = classEntries.putIfAbsent(key, entry);
+            if (previous != null) {
+                entry = previous;
+            } else {
+                this.size.incrementAndGet();
+                this.all.add(entry);
+            }
+        }
+        return entry;
+    }
+
+    private SignatureEntry getOverflow() {
+        SignatureEntry entry = this.overflow;
+        if (entry == null) {
+            synchronized (this) {
+                entry = this.overflow;
+                if (entry == null) {
+                    entry = new SignatureEntry(OVERFLOW_NAME);
+                    this.all.add(entry);
+                    this.overflow = entry;
+                }
+            }
+        }
+        return entry;
+    }
+
+    /**
+     * @return the registered entries (weakly consistent view)
+     */
+    public Collection<SignatureEntry> getEntries() {
+        return Collections.unmodifiableCollection(this.all);
+    }
+
+    /**
+     * @return the number of entries (without the overflow entry)
+     */
+    public int size() {
+        return this.size.get();
+    }
+}
@@ -0,0 +1,231 @@
+/*
+ * #%L
+ * utils-aop
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.aop.stats;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Aggregated call tree of the nested profiled calls. Each thread keeps a
+ * stack of its running calls (spans): a call entered while another one is
+ * running on the same thread is recorded as its child, and its duration is
+ * removed from the self time of the parent.
+ * 
+ * <p>
+ * The tree is bounded by a maximum depth and a maximum number of nodes, so
+ * its memory stays flat: the calls beyond the limits are not added to the
+ * tree (they are counted, see {@link #getDropped()}), but they are still
+ * recorded in the total and self times of their signature (see
+ * {@link SignatureStatistics#recordSpan(long, long)}).
+ * </p>
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public class CallTree {
+
+    private static final int INITIAL_STACK_SIZE = 16;
+
+    private final int maxDepth;
+    private final int maxNodes;
+    private final CallTreeNode root = new CallTreeNode(null, 0);
+    private final AtomicInteger nodes = new AtomicInteger();
+    private final LongAdder dropped = new LongAdder();
+    private final ThreadLocal<SpanStack> stacks = ThreadLocal.withInitial(SpanStack::new);
+
+    /**
+     * Constructor
+     *
+     * @param maxDepth
+     *            the maximum depth of the tree
+     * @param maxNodes
+     *            the maximum number of nodes
+     */
+    public CallTree(final int maxDepth, final int maxNodes) {
+        if (maxDepth < 1 || maxNodes < 1) {
+            throw new IllegalArgumentException("maxDepth and maxNodes must be positive");
+        }
+        this.maxDepth = maxDepth;
+        this.maxNodes = maxNodes;
+    }
+
+    /**
+     * Enter a call on the current thread, each call has to be exited in a
+     * finally block.
+     * 
+     * @param signature
+     *            the statistics of the called signature
+     */
+    public void enter(final SignatureStatistics signature) {
+        final SpanStack stack = this.stacks.get();
+        final Span parent = stack.peek();
+        final CallTreeNode parentNode = parent != null ? parent.node : this.root;
+
+        final CallTreeNode node = parentNode != null ? parentNode.child(signature, this) : null;
+        if (node == null) {
+            this.dropped.increment();
+        }
+        stack.push(signature, node);
+    }
+
+    /**
+     * Exit the last entered call of the current thread.
+     * 
+     * @param elapsed
+     *            the duration of the call in nanoseconds
+     */
+    public void exit(final long elapsed) {
+        final SpanStack stack = this.stacks.get();
+        final Span span = stack.pop();
+        final long self = Math.max(0, elapsed - span.children);
+
+        span.signature.recordSpan(elapsed, self);
+        if (span.node != null) {
+            span.node.record(elapsed, self);
+        }
+
+        final Span parent = stack.peek();
+        if (parent != null) {
+            parent.children += elapsed;
+        }
+        span.clear();
+    }
+
+    boolean reserveNode() {
+        if (this.nodes.incrementAndGet() > this.maxNodes) {
+            this.nodes.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    void releaseNode() {
+        this.nodes.decrementAndGet();
+    }
+
+    /**
+     * @return the maximum depth
+     */
+    public int getMaxDepth() {
+        return this.maxDepth;
+    }
+
+    /**
+     * @return the maximum number of nodes
+     */
+    public int getMaxNodes() {
+        return this.maxNodes;
+    }
+
+    /**
+     * @return the number of nodes (the root excluded)
+     */
+    public int getNodeCount() {
+        return this.nodes.get();
+    }
+
+    /**
+     * @return the number of calls not added to the tree (limits reached)
+     */
+    public long getDropped() {
+        return this.dropped.sum();
+    }
+
+    /**
+     * @return the root (without signature, its children are the outermost
+     *         calls)
+     */
+    public CallTreeNode getRoot() {
+        return this.root;
+    }
+
+    /**
+     * Append the tree, one line per node indented by depth (children sorted
+     * by descending total duration, durations in milliseconds).
+     * 
+     * @param builder
+     *            the builder
+     * @return the builder
+     */
+    public StringBuilder appendTree(final StringBuilder builder) {
+        this.root.append(builder);
+        final long count = this.getDropped();
+        if (count > 0) {
+            builder.append(String.format("%,d calls not in the tree (maximum depth: %d, maximum nodes: %d)", count, this.maxDepth,
+                    this.maxNodes));
+        }
+        return builder;
+    }
+
+    @Override
+    public String toString() {
+        return this.appendTree(new StringBuilder()).toString();
+    }
+
+    /**
+     * A running call
+     */
+    private static final class Span {
+
+        private SignatureStatistics signature;
+        private CallTreeNode node;
+        private long children;
+
+        private void clear() {
+            this.signature = null;
+            this.node = null;
+            this.children = 0;
+        }
+    }
+
+    /**
+     * The running calls of a thread (the spans are reused)
+     */
+    private static final class SpanStack {
+
+        private Span[] spans = new Span[INITIAL_STACK_SIZE];
+        private int size;
+
+        private Span peek() {
+            return this.size > 0 ? this.spans[this.size - 1] : null;
+        }
+
+        private void push(final SignatureStatistics signature, final CallTreeNode node) {
+            if (this.size == this.spans.length) {
+                final Span[] grown = new Span[this.size * 2];
+                System.arraycopy(this.spans, 0, grown, 0, this.size);
+                this.spans = grown;
+            }
+            Span span = this.spans[this.size];
+            if (span == null) {
+                span = new Span();
+                this.spans[this.size] = span;
+            }
+            span.signature = signature;
+            span.node = node;
+            this.size++;
+        }
+
+        private Span pop() {
+            return this.spans[--this.size];
+        }
+    }
+}
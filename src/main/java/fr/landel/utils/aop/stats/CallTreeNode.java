@@ -0,0 +1,166 @@
+/*
+ * #%L
+ * utils-aop
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.aop.stats;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Node of a {@link CallTree}: the calls of a signature on a call path
+ * (durations in nanoseconds).
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public final class CallTreeNode {
+
+    private final SignatureStatistics signature;
+    private final int depth;
+    private final Map<SignatureStatistics, CallTreeNode> children = new ConcurrentHashMap<>();
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalTime = new LongAdder();
+    private final LongAdder selfTime = new LongAdder();
+
+    /**
+     * Constructor
+     *
+     * @param signature
+     *            the signature statistics (null for the root)
+     * @param depth
+     *            the depth (0 for the root)
+     */
+    CallTreeNode(final SignatureStatistics signature, final int depth) {
+        this.signature = signature;
+        this.depth = depth;
+    }
+
+    /**
+     * Get or create the child node.
+     * 
+     * @param child
+     *            the signature of the inner call
+     * @param tree
+     *            the tree (limits and node count)
+     * @return the child node or {@code null} if one of the limits is reached
+     */
+    CallTreeNode child(final SignatureStatistics child, final CallTree tree) {
+        CallTreeNode node = this.children.get(child);
+        if (node == null && this.depth < tree.getMaxDepth() && tree.reserveNode()) {
+            final CallTreeNode created = new CallTreeNode(child, this.depth + 1);
+            node = this.children.putIfAbsent(child, created);
+            if (node == null) {
+                node = created;
+            } else {
+                tree.releaseNode();
+            }
+        }
+        return node;
+    }
+
+    /**
+     * Record a call.
+     * 
+     * @param total
+     *            the duration of the call
+     * @param self
+     *            the duration without the traced inner calls
+     */
+    void record(final long total, final long self) {
+        this.count.increment();
+        this.totalTime.add(total);
+        this.selfTime.add(self);
+    }
+
+    /**
+     * @return the signature name (null for the root)
+     */
+    public String getName() {
+        return this.signature != null ? this.signature.getName() : null;
+    }
+
+    /**
+     * @return the depth (0 for the root)
+     */
+    public int getDepth() {
+        return this.depth;
+    }
+
+    /**
+     * @return the number of calls
+     */
+    public long getCount() {
+        return this.count.sum();
+    }
+
+    /**
+     * @return the total duration of the calls
+     */
+    public long getTotalTime() {
+        return this.totalTime.sum();
+    }
+
+    /**
+     * @return the duration of the calls without their traced inner calls
+     */
+    public long getSelfTime() {
+        return this.selfTime.sum();
+    }
+
+    /**
+     * @return the child nodes, sorted by descending total duration
+     */
+    public List<CallTreeNode> getChildren() {
+        final List<CallTreeNode> sorted = new ArrayList<>(this.children.values());
+        sorted.sort((node1, node2) -> Long.compare(node2.getTotalTime(), node1.getTotalTime()));
+        return sorted;
+    }
+
+    /**
+     * Append the node and its children, one line per node indented by depth.
+     * 
+     * @param builder
+     *            the builder
+     * @return the builder
+     */
+    StringBuilder append(final StringBuilder builder) {
+        if (this.signature != null) {
+            for (int i = 1; i < this.depth; i++) {
+                builder.append("  ");
+            }
+            builder.append(this.getName()).append(": count=").append(this.getCount());
+            WindowSnapshot.appendMillis(builder.append(", total="), this.getTotalTime());
+            WindowSnapshot.appendMillis(builder.append(", self="), this.getSelfTime());
+            builder.append(System.lineSeparator());
+        }
+        for (CallTreeNode child : this.getChildren()) {
+            child.append(builder);
+        }
+        return builder;
+    }
+
+    @Override
+    public String toString() {
+        return this.append(new StringBuilder()).toString();
+    }
+}
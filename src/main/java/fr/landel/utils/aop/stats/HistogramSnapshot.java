@@ -0,0 +1,175 @@
+/*
+ * #%L
+ * utils-aop
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.aop.stats;
+
+import java.util.Arrays;
+
+/**
+ * Immutable snapshot of a {@link LatencyHistogram} (values in nanoseconds).
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public final class HistogramSnapshot {
+
+    /**
+     * Empty snapshot
+     */
+    public static final HistogramSnapshot EMPTY = new HistogramSnapshot(new long[LatencyHistogram.BUCKET_COUNT], 0, 0, 0);
+
+    private final long[] counts;
+    private final long count;
+    private final long total;
+    private final long max;
+
+    /**
+     * Constructor
+     *
+     * @param counts
+     *            the counts per bucket (not copied)
+     * @param count
+     *            the number of recorded values
+     * @param total
+     *            the sum of recorded values
+     * @param max
+     *            the maximum recorded value
+     */
+    HistogramSnapshot(final long[] counts, final long count, final long total, final long max) {
+        this.counts = counts;
+        this.count = count;
+        this.total = total;
+        this.max = max;
+    }
+
+    /**
+     * @return the number of recorded values
+     */
+    public long getCount() {
+        return this.count;
+    }
+
+    /**
+     * @return the sum of the recorded values in nanoseconds
+     */
+    public long getTotal() {
+        return this.total;
+    }
+
+    /**
+     * @return the maximum recorded value in nanoseconds
+     */
+    public long getMax() {
+        return this.max;
+    }
+
+    /**
+     * @return the mean of the recorded values in nanoseconds
+     */
+    public double getMean() {
+        return this.count > 0 ? (double) this.total / this.count : 0;
+    }
+
+    /**
+     * Get the count of the bucket (see {@link LatencyHistogram#lowestValue}
+     * and {@link LatencyHistogram#highestValue} for its bounds).
+     * 
+     * @param index
+     *            the bucket index
+     * @return the count
+     */
+    public long getBucketCount(final int index) {
+        return this.counts[index];
+    }
+
+    /**
+     * @return a copy of the counts per bucket
+     */
+    public long[] getBucketCounts() {
+        return Arrays.copyOf(this.counts, this.counts.length);
+    }
+
+    /**
+     * Get the value at the percentile (the highest value of the bucket
+     * containing the percentile, bounded by the maximum).
+     * 
+     * @param percentile
+     *            the percentile (between 0 and 100)
+     * @return the value in nanoseconds or 0 if empty
+     */
+    public long getValueAtPercentile(final double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("The percentile has to be between 0 and 100");
+        }
+
+        long bucketsTotal = 0;
+        for (long bucketCount : this.counts) {
+            bucketsTotal += bucketCount;
+        }
+        if (bucketsTotal == 0) {
+            return 0;
+        }
+
+        final long rank = Math.max(1, (long) Math.ceil(percentile / 100 * bucketsTotal));
+        long cumulated = 0;
+        for (int i = 0; i < this.counts.length; i++) {
+            cumulated += this.counts[i];
+            if (cumulated >= rank) {
+                return Math.min(LatencyHistogram.highestValue(i), this.max);
+            }
+        }
+        return this.max;
+    }
+
+    /**
+     * @return the median in nanoseconds
+     */
+    public long getP50() {
+        return this.getValueAtPercentile(50);
+    }
+
+    /**
+     * @return the 90th percentile in nanoseconds
+     */
+    public long getP90() {
+        return this.getValueAtPercentile(90);
+    }
+
+    /**
+     * @return the 99th percentile in nanoseconds
+     */
+    public long getP99() {
+        return this.getValueAtPercentile(99);
+    }
+
+    /**
+     * @return the 99.9th percentile in nanoseconds
+     */
+    public long getP999() {
+        return this.getValueAtPercentile(99.9);
+    }
+
+    @Override
+    public String toString() {
+        return new StringBuilder("count=").append(this.count).append(", p50=").append(this.getP50()).append(", p90=")
+                .append(this.getP90()).append(", p99=").append(this.getP99()).append(", p999=").append(this.getP999())
+                .append(", max=").append(this.max).append(" (ns)").toString();
+    }
+}
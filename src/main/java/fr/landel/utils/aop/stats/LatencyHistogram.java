@@ -0,0 +1,232 @@
+/*
+ * #%L
+ * utils-aop
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.aop.stats;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Lock-free latency histogram (in nanoseconds), with log-linear buckets:
+ * values under {@value #LINEAR_LIMIT} are exact, then each power of two is
+ * split into {@value #SUB_BUCKETS} buckets (so a relative error under
+ * 12.5%), up to {@value #MAX_VALUE} ns (about 18 minutes, higher values are
+ * recorded in the last bucket).
+ * 
+ * <p>
+ * Counters are striped per thread (the stripes are allocated on first use)
+ * and the count, total and maximum of a stripe are padded away from its
+ * buckets, so concurrent recordings on many cores don't contend on the same
+ * cache lines. Recording doesn't allocate (except the first time on a
+ * stripe).
+ * </p>
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+
+    /**
+     * Number of buckets per power of two
+     */
+    public static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * Values under this limit are recorded in exact buckets
+     */
+    public static final int LINEAR_LIMIT = SUB_BUCKETS * 2;
+
+    private static final int MAX_EXPONENT = 39;
+
+    /**
+     * Maximum tracked value in nanoseconds
+     */
+    public static final long MAX_VALUE = (1L << (MAX_EXPONENT + 1)) - 1;
+
+    /**
+     * Number of buckets
+     */
+    public static final int BUCKET_COUNT = index(MAX_VALUE) + 1;
+
+    /**
+     * Longs per cache line (64 bytes), the header counters of a stripe are
+     * padded to their own line
+     */
+    private static final int PADDING = 8;
+
+    private static final int COUNT = PADDING;
+    private static final int TOTAL = PADDING + 1;
+    private static final int MAX = PADDING + 2;
+    private static final int OFFSET = PADDING * 2;
+    private static final int STRIPE_LENGTH = OFFSET + BUCKET_COUNT + PADDING;
+
+    private static final int MAX_STRIPES = 256;
+    private static final long GOLDEN_RATIO = 0x9E3779B97F4A7C15L;
+
+    private final AtomicReferenceArray<AtomicLongArray> stripes;
+    private final int stripeShift;
+
+    /**
+     * Constructor (one stripe per available processor, rounded to the next
+     * power of two). Each stripe holds about 2.6 KB, but it's only allocated
+     * once a thread records on it, so the memory of a histogram follows the
+     * number of threads calling its signature, not the number of cores.
+     */
+    public LatencyHistogram() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param concurrency
+     *            the expected number of concurrent threads (rounded to the
+     *            next power of two, up to {@value #MAX_STRIPES})
+     */
+    public LatencyHistogram(final int concurrency) {
+        final int count = Math.min(MAX_STRIPES, Integer.highestOneBit(Math.max(1, concurrency - 1) << 1));
+        this.stripes = new AtomicReferenceArray<>(count);
+        this.stripeShift = Long.SIZE - Integer.numberOfTrailingZeros(count);
+    }
+
+    /**
+     * Record a value.
+     * 
+     * @param nanos
+     *            the duration in nanoseconds (negative values are recorded as
+     *            zero)
+     */
+    public void record(final long nanos) {
+        final long value = Math.max(0, nanos);
+        final AtomicLongArray stripe = this.stripe();
+
+        stripe.incrementAndGet(OFFSET + index(Math.min(value, MAX_VALUE)));
+        stripe.incrementAndGet(COUNT);
+        stripe.addAndGet(TOTAL, value);
+
+        long max = stripe.get(MAX);
+        while (value > max && !stripe.compareAndSet(MAX, max, value)) {
+            max = stripe.get(MAX);
+        }
+    }
+
+    /**
+     * Take a snapshot (weakly consistent with concurrent recordings).
+     * 
+     * @return the snapshot
+     */
+    public HistogramSnapshot snapshot() {
+        final long[] counts = new long[BUCKET_COUNT];
+        long count = 0;
+        long total = 0;
+        long max = 0;
+
+        for (int i = 0; i < this.stripes.length(); i++) {
+            final AtomicLongArray stripe = this.stripes.get(i);
+            if (stripe != null) {
+                for (int j = 0; j < BUCKET_COUNT; j++) {
+                    counts[j] += stripe.get(OFFSET + j);
+                }
+                count += stripe.get(COUNT);
+                total += stripe.get(TOTAL);
+                max = Math.max(max, stripe.get(MAX));
+            }
+        }
+
+        return new HistogramSnapshot(counts, count, total, max);
+    }
+
+    /**
+     * Get the number of recorded values, without a snapshot (weakly
+     * consistent with concurrent recordings).
+     * 
+     * @return the count
+     */
+    public long getCount() {
+        long count = 0;
+        for (int i = 0; i < this.stripes.length(); i++) {
+            final AtomicLongArray stripe = this.stripes.get(i);
+            if (stripe != null) {
+                count += stripe.get(COUNT);
+            }
+        }
+        return count;
+    }
+
+    private AtomicLongArray stripe() {
+        final int index = this.stripes.length() == 1 ? 0 : (int) ((Thread.currentThread().getId() * GOLDEN_RATIO) >>> this.stripeShift);
+
+        AtomicLongArray stripe = this.stripes.get(index);
+        if (stripe == null) {
+            stripe = new AtomicLongArray(STRIPE_LENGTH);
+            if (!this.stripes.compareAndSet(index, null, stripe)) {
+                stripe = this.stripes.get(index);
+            }
+        }
+        return stripe;
+    }
+
+    /**
+     * Get the bucket index of the value.
+     * 
+     * @param value
+     *            the value (between 0 and {@link #MAX_VALUE})
+     * @return the bucket index
+     */
+    public static int index(final long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        final int shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return shift * SUB_BUCKETS + (int) (value >>> shift);
+    }
+
+    /**
+     * Get the lowest value of the bucket.
+     * 
+     * @param index
+     *            the bucket index
+     * @return the lowest value
+     */
+    public static long lowestValue(final int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        final int shift = index / SUB_BUCKETS - 1;
+        return (long) (index % SUB_BUCKETS + SUB_BUCKETS) << shift;
+    }
+
+    /**
+     * Get the highest value of the bucket.
+     * 
+     * @param index
+     *            the bucket index
+     * @return the highest value
+     */
+    public static long highestValue(final int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        final int shift = index / SUB_BUCKETS - 1;
+        return ((long) (index % SUB_BUCKETS + SUB_BUCKETS + 1) << shift) - 1;
+    }
+}
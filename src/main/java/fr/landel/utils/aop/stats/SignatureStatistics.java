@@ -0,0 +1,359 @@
+/*
+ * #%L
+ * utils-aop
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.aop.stats;
+
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Live statistics of a signature, updated by the profiling advice. The parts
+ * of the optional features (histogram, completions, resources, contention,
+ * call tree spans and window) are allocated on their first recording.
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public class SignatureStatistics {
+
+    private static final AtomicReferenceFieldUpdater<SignatureStatistics, LatencyHistogram> LATENCIES = AtomicReferenceFieldUpdater
+            .newUpdater(SignatureStatistics.class, LatencyHistogram.class, "latencies");
+    private static final AtomicReferenceFieldUpdater<SignatureStatistics, Completions> COMPLETIONS = AtomicReferenceFieldUpdater
+            .newUpdater(SignatureStatistics.class, Completions.class, "completions");
+    private static final AtomicReferenceFieldUpdater<SignatureStatistics, Resources> RESOURCES = AtomicReferenceFieldUpdater
+            .newUpdater(SignatureStatistics.class, Resources.class, "resources");
+    private static final AtomicReferenceFieldUpdater<SignatureStatistics, Contention> CONTENTION = AtomicReferenceFieldUpdater
+            .newUpdater(SignatureStatistics.class, Contention.class, "contention");
+    private static final AtomicReferenceFieldUpdater<SignatureStatistics, Spans> SPANS = AtomicReferenceFieldUpdater
+            .newUpdater(SignatureStatistics.class, Spans.class, "spans");
+    private static final AtomicReferenceFieldUpdater<SignatureStatistics, WindowAggregate> WINDOW = AtomicReferenceFieldUpdater
+            .newUpdater(SignatureStatistics.class, WindowAggregate.class, "window");
+
+    private final String name;
+    private final LongAdder errors = new LongAdder();
+    private volatile LatencyHistogram latencies;
+    private volatile Completions completions;
+    private volatile Resources resources;
+    private volatile Contention contention;
+    private volatile Spans spans;
+    private volatile WindowAggregate window;
+
+    /**
+     * Constructor
+     *
+     * @param name
+     *            the signature name
+     */
+    public SignatureStatistics(final String name) {
+        this.name = name;
+    }
+
+    /**
+     * @return the signature name
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Record a call duration.
+     * 
+     * @param nanos
+     *            the duration in nanoseconds
+     */
+    public void record(final long nanos) {
+        this.get(LATENCIES, LatencyHistogram::new).record(nanos);
+    }
+
+    /**
+     * Record a failed call (its duration is recorded separately).
+     */
+    public void recordError() {
+        this.errors.increment();
+    }
+
+    /**
+     * @return the number of failed calls
+     */
+    public long getErrors() {
+        return this.errors.sum();
+    }
+
+    /**
+     * Record a cancelled asynchronous call (its duration is recorded
+     * separately).
+     */
+    public void recordCancellation() {
+        this.get(COMPLETIONS, Completions::new).cancellations.increment();
+    }
+
+    /**
+     * @return the number of cancelled asynchronous calls
+     */
+    public long getCancellations() {
+        final Completions current = this.completions;
+        return current != null ? current.cancellations.sum() : 0;
+    }
+
+    /**
+     * Record the number of elements emitted by a profiled publisher
+     * subscription.
+     * 
+     * @param count
+     *            the number of elements
+     */
+    public void recordElements(final long count) {
+        this.get(COMPLETIONS, Completions::new).elements.add(count);
+    }
+
+    /**
+     * @return the number of elements emitted by the profiled publishers
+     */
+    public long getElements() {
+        final Completions current = this.completions;
+        return current != null ? current.elements.sum() : 0;
+    }
+
+    /**
+     * Record the resources used by a call on its thread (see
+     * {@link ThreadResources}).
+     * 
+     * @param cpu
+     *            the CPU time in nanoseconds (or
+     *            {@link ThreadResources#UNSUPPORTED})
+     * @param allocated
+     *            the allocated bytes (or {@link ThreadResources#UNSUPPORTED})
+     */
+    public void recordResources(final long cpu, final long allocated) {
+        final Resources current = this.get(RESOURCES, Resources::new);
+        current.calls.increment();
+        if (cpu > 0) {
+            current.cpuTime.add(cpu);
+        }
+        if (allocated > 0) {
+            current.allocatedBytes.add(allocated);
+        }
+    }
+
+    /**
+     * @return the number of calls with recorded resources
+     */
+    public long getResourceCalls() {
+        final Resources current = this.resources;
+        return current != null ? current.calls.sum() : 0;
+    }
+
+    /**
+     * @return the CPU time of the calls in nanoseconds
+     */
+    public long getCpuTime() {
+        final Resources current = this.resources;
+        return current != null ? current.cpuTime.sum() : 0;
+    }
+
+    /**
+     * @return the bytes allocated by the calls
+     */
+    public long getAllocatedBytes() {
+        final Resources current = this.resources;
+        return current != null ? current.allocatedBytes.sum() : 0;
+    }
+
+    /**
+     * Record the contention of a call on its thread.
+     * 
+     * @param blocked
+     *            the number of times the thread blocked to enter a monitor
+     * @param blockedMillis
+     *            the blocked time in milliseconds (or
+     *            {@link ThreadResources#UNSUPPORTED})
+     * @param waited
+     *            the number of times the thread waited (wait, park, sleep)
+     * @param waitedMillis
+     *            the waited time in milliseconds (or
+     *            {@link ThreadResources#UNSUPPORTED})
+     */
+    public void recordContention(final long blocked, final long blockedMillis, final long waited, final long waitedMillis) {
+        final Contention current = this.get(CONTENTION, Contention::new);
+        if (blocked > 0) {
+            current.blockedCount.add(blocked);
+        }
+        if (blockedMillis > 0) {
+            current.blockedTime.add(blockedMillis);
+        }
+        if (waited > 0) {
+            current.waitedCount.add(waited);
+        }
+        if (waitedMillis > 0) {
+            current.waitedTime.add(waitedMillis);
+        }
+    }
+
+    /**
+     * @return the number of times the calls blocked to enter a monitor
+     */
+    public long getBlockedCount() {
+        final Contention current = this.contention;
+        return current != null ? current.blockedCount.sum() : 0;
+    }
+
+    /**
+     * @return the time the calls blocked to enter a monitor in milliseconds
+     */
+    public long getBlockedTime() {
+        final Contention current = this.contention;
+        return current != null ? current.blockedTime.sum() : 0;
+    }
+
+    /**
+     * @return the number of times the calls waited (wait, park, sleep)
+     */
+    public long getWaitedCount() {
+        final Contention current = this.contention;
+        return current != null ? current.waitedCount.sum() : 0;
+    }
+
+    /**
+     * @return the time the calls waited in milliseconds
+     */
+    public long getWaitedTime() {
+        final Contention current = this.contention;
+        return current != null ? current.waitedTime.sum() : 0;
+    }
+
+    /**
+     * Record the total and self durations of a call traced in a
+     * {@link CallTree}.
+     * 
+     * @param total
+     *            the duration of the call in nanoseconds
+     * @param self
+     *            the duration without the traced inner calls in nanoseconds
+     */
+    public void recordSpan(final long total, final long self) {
+        final Spans current = this.get(SPANS, Spans::new);
+        current.totalTime.add(total);
+        current.selfTime.add(self);
+    }
+
+    /**
+     * @return the total duration of the traced calls in nanoseconds (the
+     *         recursive calls are counted at each level)
+     */
+    public long getTotalTime() {
+        final Spans current = this.spans;
+        return current != null ? current.totalTime.sum() : 0;
+    }
+
+    /**
+     * @return the duration of the traced calls without their traced inner
+     *         calls in nanoseconds
+     */
+    public long getSelfTime() {
+        final Spans current = this.spans;
+        return current != null ? current.selfTime.sum() : 0;
+    }
+
+    /**
+     * @return the aggregate of the current window (created on first call)
+     */
+    public WindowAggregate getWindow() {
+        return this.get(WINDOW, WindowAggregate::new);
+    }
+
+    /**
+     * Get the current window and start a new one (see
+     * {@link WindowAggregate#roll()}).
+     * 
+     * @return the snapshot of the ended window or {@code null} if no call
+     *         was ever aggregated
+     */
+    public WindowSnapshot rollWindow() {
+        final WindowAggregate current = this.window;
+        return current != null ? current.roll() : null;
+    }
+
+    /**
+     * Reset the cumulative statistics (the current window is kept, the calls
+     * recorded during the reset may be lost or partially kept).
+     */
+    public void reset() {
+        this.latencies = null;
+        this.errors.reset();
+        this.completions = null;
+        this.resources = null;
+        this.contention = null;
+        this.spans = null;
+    }
+
+    /**
+     * @return the number of recorded calls (cheaper than a latencies
+     *         snapshot)
+     */
+    public long getCount() {
+        final LatencyHistogram current = this.latencies;
+        return current != null ? current.getCount() : 0;
+    }
+
+    /**
+     * @return the latencies snapshot
+     */
+    public HistogramSnapshot getLatencies() {
+        final LatencyHistogram current = this.latencies;
+        return current != null ? current.snapshot() : HistogramSnapshot.EMPTY;
+    }
+
+    /**
+     * Get the part, created on first call (the reset may set it back to
+     * {@code null} at any time).
+     */
+    private <T> T get(final AtomicReferenceFieldUpdater<SignatureStatistics, T> updater, final Supplier<T> factory) {
+        T current = updater.get(this);
+        while (current == null) {
+            final T created = factory.get();
+            current = updater.compareAndSet(this, null, created) ? created : updater.get(this);
+        }
+        return current;
+    }
+
+    private static final class Completions {
+        private final LongAdder cancellations = new LongAdder();
+        private final LongAdder elements = new LongAdder();
+    }
+
+    private static final class Resources {
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder cpuTime = new LongAdder();
+        private final LongAdder allocatedBytes = new LongAdder();
+    }
+
+    private static final class Contention {
+        private final LongAdder blockedCount = new LongAdder();
+        private final LongAdder blockedTime = new LongAdder();
+        private final LongAdder waitedCount = new LongAdder();
+        private final LongAdder waitedTime = new LongAdder();
+    }
+
+    private static final class Spans {
+        private final LongAdder totalTime = new LongAdder();
+        private final LongAdder selfTime = new LongAdder();
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * #%L
+ * utils-aop
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.aop.stats;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * CPU time, allocated bytes and contention of the current thread. Each
+ * measure changes a JVM-wide setting of the {@link ThreadMXBean}, so it's
+ * only enabled on demand (see {@link #enableCpuTime()},
+ * {@link #enableAllocatedBytes()} and {@link #enableContention()}); the
+ * measures not enabled or unsupported return {@link #UNSUPPORTED}.
+ * 
+ * <p>
+ * The allocated bytes come from {@code com.sun.management.ThreadMXBean}
+ * (HotSpot and derived JVMs), only loaded if present.
+ * </p>
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public final class ThreadResources {
+
+    /**
+     * Value of the unsupported measures
+     */
+    public static final long UNSUPPORTED = -1;
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private static volatile boolean cpuTime;
+    private static volatile boolean allocatedBytes;
+
+    /**
+     * Hidden constructor
+     */
+    private ThreadResources() {
+    }
+
+    /**
+     * Enable the CPU time measure of the JVM.
+     * 
+     * @return true, if supported and enabled
+     */
+    public static boolean enableCpuTime() {
+        boolean enabled;
+        try {
+            if (THREADS.isCurrentThreadCpuTimeSupported() && !THREADS.isThreadCpuTimeEnabled()) {
+                THREADS.setThreadCpuTimeEnabled(true);
+            }
+            enabled = THREADS.isCurrentThreadCpuTimeSupported() && THREADS.isThreadCpuTimeEnabled();
+        } catch (UnsupportedOperationException | SecurityException e) {
+            enabled = false;
+        }
+        cpuTime = enabled;
+        return enabled;
+    }
+
+    /**
+     * Enable the allocated memory measure of the JVM.
+     * 
+     * @return true, if supported and enabled
+     */
+    public static boolean enableAllocatedBytes() {
+        final boolean enabled = isPresent("com.sun.management.ThreadMXBean") && Allocations.enable();
+        allocatedBytes = enabled;
+        return enabled;
+    }
+
+    /**
+     * @return true, if the CPU time is measured (see {@link #enableCpuTime()})
+     */
+    public static boolean isCpuTimeEnabled() {
+        return cpuTime;
+    }
+
+    /**
+     * @return true, if the allocated bytes are measured (see
+     *         {@link #enableAllocatedBytes()})
+     */
+    public static boolean isAllocatedBytesEnabled() {
+        return allocatedBytes;
+    }
+
+    private static boolean isPresent(final String className) {
+        try {
+            Class.forName(className, false, ThreadResources.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * @return the CPU time of the current thread in nanoseconds (or
+     *         {@link #UNSUPPORTED})
+     */
+    public static long getCpuTime() {
+        return cpuTime ? THREADS.getCurrentThreadCpuTime() : UNSUPPORTED;
+    }
+
+    /**
+     * @return the bytes allocated by the current thread (or
+     *         {@link #UNSUPPORTED})
+     */
+    public static long getAllocatedBytes() {
+        return allocatedBytes ? Allocations.get() : UNSUPPORTED;
+    }
+
+    /**
+     * Enable the contention monitoring of the JVM (blocked and waited times
+     * of the threads).
+     * 
+     * @return true, if supported and enabled
+     */
+    public static boolean enableContention() {
+        try {
+            if (THREADS.isThreadContentionMonitoringSupported() && !THREADS.isThreadContentionMonitoringEnabled()) {
+                THREADS.setThreadContentionMonitoringEnabled(true);
+            }
+            return THREADS.isThreadContentionMonitoringSupported() && THREADS.isThreadContentionMonitoringEnabled();
+        } catch (UnsupportedOperationException | SecurityException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Get the information of the current thread, without stack trace: the
+     * blocked and waited counts, and their times in milliseconds if the
+     * contention monitoring is enabled ({@link #UNSUPPORTED} otherwise).
+     * 
+     * @return the thread information (or {@code null} if not available)
+     */
+    public static ThreadInfo getThreadInfo() {
+        try {
+            return THREADS.getThreadInfo(Thread.currentThread().getId());
+        } catch (SecurityException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Compute the difference with a previous measure.
+     * 
+     * @param start
+     *            the previous measure
+     * @param end
+     *            the current measure
+     * @return the difference (or {@link #UNSUPPORTED} if one of the measures
+     *         is unsupported)
+     */
+    public static long delta(final long start, final long end) {
+        return start >= 0 && end >= 0 ? Math.max(0, end - start) : UNSUPPORTED;
+    }
+
+    /**
+     * Allocation measures (only loaded if the HotSpot interface is present)
+     */
+    private static final class Allocations {
+
+        private static boolean enable() {
+            if (!(THREADS instanceof com.sun.management.ThreadMXBean)) {
+                return false;
+            }
+            final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) THREADS;
+            try {
+                if (threads.isThreadAllocatedMemorySupported() && !threads.isThreadAllocatedMemoryEnabled()) {
+                    threads.setThreadAllocatedMemoryEnabled(true);
+                }
+                return threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled();
+            } catch (UnsupportedOperationException | SecurityException e) {
+                return false;
+            }
+        }
+
+        private static long get() {
+            return ((com.sun.management.ThreadMXBean) THREADS).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * #%L
+ * utils-aop
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.aop.stats;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Aggregate of the calls of a signature over a time window (count, total,
+ * min, max and errors), in striped accumulators. The window is rolled by
+ * {@link #roll()}: a call recorded during the roll may be split between
+ * both windows.
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public class WindowAggregate {
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder total = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAccumulator min = new LongAccumulator(Math::min, Long.MAX_VALUE);
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Record a call.
+     * 
+     * @param nanos
+     *            the duration in nanoseconds
+     * @param failed
+     *            if the call failed
+     */
+    public void record(final long nanos, final boolean failed) {
+        this.count.increment();
+        this.total.add(nanos);
+        this.min.accumulate(nanos);
+        this.max.accumulate(nanos);
+        if (failed) {
+            this.errors.increment();
+        }
+    }
+
+    /**
+     * Get the current window and start a new one.
+     * 
+     * @return the snapshot of the ended window
+     */
+    public WindowSnapshot roll() {
+        final long windowCount = this.count.sumThenReset();
+        final long windowTotal = this.total.sumThenReset();
+        final long windowErrors = this.errors.sumThenReset();
+        final long windowMin = this.min.getThenReset();
+        final long windowMax = this.max.getThenReset();
+
+        return new WindowSnapshot(windowCount, windowTotal, windowCount > 0 ? windowMin : 0, windowMax, windowErrors);
+    }
+}
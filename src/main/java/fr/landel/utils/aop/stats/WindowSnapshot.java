@@ -0,0 +1,136 @@
+/*
+ * #%L
+ * utils-aop
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.aop.stats;
+
+import fr.landel.utils.commons.EnumChar;
+
+/**
+ * Immutable snapshot of a {@link WindowAggregate} (durations in
+ * nanoseconds).
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public final class WindowSnapshot {
+
+    private static final long NANOS_PER_MICRO = 1_000L;
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+    private static final int MICROS_PER_MILLI = 1_000;
+
+    private final long count;
+    private final long total;
+    private final long min;
+    private final long max;
+    private final long errors;
+
+    /**
+     * Constructor
+     *
+     * @param count
+     *            the number of calls
+     * @param total
+     *            the total duration
+     * @param min
+     *            the minimum duration
+     * @param max
+     *            the maximum duration
+     * @param errors
+     *            the number of failed calls
+     */
+    public WindowSnapshot(final long count, final long total, final long min, final long max, final long errors) {
+        this.count = count;
+        this.total = total;
+        this.min = min;
+        this.max = max;
+        this.errors = errors;
+    }
+
+    /**
+     * @return the number of calls
+     */
+    public long getCount() {
+        return this.count;
+    }
+
+    /**
+     * @return the total duration in nanoseconds
+     */
+    public long getTotal() {
+        return this.total;
+    }
+
+    /**
+     * @return the minimum duration in nanoseconds
+     */
+    public long getMin() {
+        return this.min;
+    }
+
+    /**
+     * @return the maximum duration in nanoseconds
+     */
+    public long getMax() {
+        return this.max;
+    }
+
+    /**
+     * @return the mean duration in nanoseconds
+     */
+    public double getMean() {
+        return this.count > 0 ? (double) this.total / this.count : 0;
+    }
+
+    /**
+     * @return the number of failed calls
+     */
+    public long getErrors() {
+        return this.errors;
+    }
+
+    /**
+     * Append the summary (durations in milliseconds, with microseconds).
+     * 
+     * @param builder
+     *            the builder
+     * @return the builder
+     */
+    public StringBuilder appendSummary(final StringBuilder builder) {
+        builder.append("count=").append(this.count).append(", errors=").append(this.errors);
+        appendMillis(builder.append(", min="), this.min);
+        appendMillis(builder.append(", mean="), Math.round(this.getMean()));
+        appendMillis(builder.append(", max="), this.max);
+        return builder;
+    }
+
+    static void appendMillis(final StringBuilder builder, final long nanos) {
+        final long micros = (nanos / NANOS_PER_MICRO) % MICROS_PER_MILLI;
+        builder.append(nanos / NANOS_PER_MILLI).append(EnumChar.DOT);
+        for (int digits = MICROS_PER_MILLI / 10; digits > 1 && micros < digits; digits /= 10) {
+            builder.append('0');
+        }
+        builder.append(micros).append(" ms");
+    }
+
+    @Override
+    public String toString() {
+        return this.appendSummary(new StringBuilder()).toString();
+    }
+}
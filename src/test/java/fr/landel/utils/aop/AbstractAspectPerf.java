@@ -0,0 +1,404 @@
+/*
+ * #%L
+ * utils-aop
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.aop;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.RunnerException;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+import fr.landel.utils.aop.exception.ExceptionMode;
+import fr.landel.utils.aop.observable.AOPObservable;
+import fr.landel.utils.aop.observable.EnumTest;
+import fr.landel.utils.microbenchmark.AbstractMicrobenchmark;
+
+/**
+ * Measure the cost per call of the logging and profiling advices (signature
+ * building, arguments rendering and profiling), compared to a direct call and
+ * to a proxy without advice.
+ *
+ * <p>
+ * The logger level is a parameter: with {@code DEBUG}, the signature is built
+ * and written into a discarding appender; with {@code INFO}, only the advice
+ * overhead is measured.
+ * </p>
+ * 
+ * <p>
+ * The allocations per call (signature builder, rendered strings) can be
+ * observed with the JMH GC profiler ({@code -prof gc}).
+ * </p>
+ * 
+ * <p>
+ * Profiling overhead: the difference between {@link #profileNoArgument()}
+ * and {@link #baselineProxy()} is the cost of the profiling advice. Under
+ * the timeout, the advice reads {@link System#nanoTime()} twice instead of
+ * creating a StopWatch, its task info and two strings per call.
+ * {@link #profileStatistics()} adds the histogram recording.
+ * </p>
+ * 
+ * <p>
+ * Measured on OpenJDK 17.0.9 (Temurin), Intel Xeon virtual machine with one
+ * core, by calling {@link AbstractAspect#profile} directly with a stub join
+ * point (no proxy, median of 30 rounds of one million calls): a reflective
+ * proceed costs 11-13 ns, the profiling advice 128-145 ns (about 120 ns of
+ * overhead) and the advice with statistics 152-168 ns (about 25 ns for the
+ * histogram). These figures exclude the proxy, run the JMH benchmarks on
+ * the target hardware for the complete cost.
+ * </p>
+ * 
+ * <p>
+ * Exception-heavy load: the {@code profileThrow*} benchmarks call a method
+ * that always throws, with each {@link ExceptionMode}. The original exception
+ * is created in all modes, the difference is the wrapper: the message
+ * formatting (wrap), the stack trace capture (wrap and lazy wrap) or nothing
+ * (stackless wrap, rethrow). The proxy wraps the checked exceptions into an
+ * {@link java.lang.reflect.UndeclaredThrowableException}, which is included
+ * in the cost of the wrapping modes.
+ * </p>
+ * 
+ * <p>
+ * Measured in the same conditions as above (50,000 throwing calls per round):
+ * the throwing proceed alone costs 2.8-2.9 &micro;s, mostly the stack trace
+ * of the original exception. The advice costs 5.0-5.4 &micro;s with
+ * {@link ExceptionMode#WRAP}, 4.5-5.3 &micro;s with
+ * {@link ExceptionMode#WRAP_LAZY}, 3.3-3.5 &micro;s with
+ * {@link ExceptionMode#WRAP_STACKLESS} and 3.6-3.8 &micro;s with
+ * {@link ExceptionMode#RETHROW}. The second stack trace (about 2 &micro;s)
+ * is the main cost of the wrapping, the message formatting is within the
+ * noise; without stack trace, wrapping costs about the same as rethrowing.
+ * </p>
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+@State(Scope.Benchmark)
+public class AbstractAspectPerf extends AbstractMicrobenchmark {
+
+    private static final int LARGE_SIZE = 10_000;
+
+    /**
+     * The logger level of both aspects
+     */
+    @Param({"DEBUG", "INFO"})
+    public String level;
+
+    private AOPObservable target;
+    private AOPObservable noAdviceProxy;
+    private AOPObservable loggingProxy;
+    private AOPObservable profilingProxy;
+    private AOPObservable statisticsProxy;
+    private AOPObservable wrapProxy;
+    private AOPObservable wrapLazyProxy;
+    private AOPObservable wrapStacklessProxy;
+    private AOPObservable rethrowProxy;
+
+    private Date date;
+    private List<String> largeList;
+    private Map<String, String> largeMap;
+
+    private List<OutputStreamAppender<ILoggingEvent>> appenders;
+
+    @Override
+    protected double getExpectedMinimalScore() {
+        return 10_000d;
+    }
+
+    /**
+     * Create the proxies and redirect the aspect loggers to a discarding
+     * appender.
+     */
+    @Setup
+    public void setUp() {
+        this.appenders = new ArrayList<>();
+        this.configureLogger(LoggingAspect.class);
+        this.configureLogger(ProfilingAspect.class);
+
+        this.target = new AOPObservable();
+
+        this.noAdviceProxy = new AspectJProxyFactory(this.target).getProxy();
+
+        final AspectJProxyFactory loggingFactory = new AspectJProxyFactory(this.target);
+        loggingFactory.addAspect(new LoggingAspect());
+        this.loggingProxy = loggingFactory.getProxy();
+
+        final AspectJProxyFactory profilingFactory = new AspectJProxyFactory(this.target);
+        profilingFactory.addAspect(new ProfilingAspect());
+        this.profilingProxy = profilingFactory.getProxy();
+
+        final ProfilingAspect statisticsAspect = new ProfilingAspect();
+        statisticsAspect.setStatisticsEnabled(true);
+        final AspectJProxyFactory statisticsFactory = new AspectJProxyFactory(this.target);
+        statisticsFactory.addAspect(statisticsAspect);
+        this.statisticsProxy = statisticsFactory.getProxy();
+
+        this.wrapProxy = this.createProfilingProxy(ExceptionMode.WRAP);
+        this.wrapLazyProxy = this.createProfilingProxy(ExceptionMode.WRAP_LAZY);
+        this.wrapStacklessProxy = this.createProfilingProxy(ExceptionMode.WRAP_STACKLESS);
+        this.rethrowProxy = this.createProfilingProxy(ExceptionMode.RETHROW);
+
+        final Calendar calendar = Calendar.getInstance();
+        calendar.set(2016, Calendar.JANUARY, 1, 16, 29, 55);
+        this.date = calendar.getTime();
+
+        this.largeList = new ArrayList<>(LARGE_SIZE);
+        this.largeMap = new HashMap<>(LARGE_SIZE * 2);
+        for (int i = 0; i < LARGE_SIZE; i++) {
+            this.largeList.add("element" + i);
+            this.largeMap.put("key" + i, "value" + i);
+        }
+    }
+
+    /**
+     * Stop the appenders
+     */
+    @TearDown
+    public void tearDown() {
+        for (OutputStreamAppender<ILoggingEvent> appender : this.appenders) {
+            appender.stop();
+        }
+    }
+
+    private AOPObservable createProfilingProxy(final ExceptionMode exceptionMode) {
+        final ProfilingAspect aspect = new ProfilingAspect();
+        aspect.setExceptionMode(exceptionMode);
+        final AspectJProxyFactory factory = new AspectJProxyFactory(this.target);
+        factory.addAspect(aspect);
+        return factory.getProxy();
+    }
+
+    private static Throwable throwing(final AOPObservable proxy) {
+        try {
+            proxy.testThrowable();
+            return null;
+        } catch (Throwable e) {
+            return e;
+        }
+    }
+
+    private void configureLogger(final Class<?> clazz) {
+        final LoggerContext loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+        final Logger logger = loggerContext.getLogger(clazz);
+
+        final PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(loggerContext);
+        encoder.setPattern("%logger{0} %m");
+        encoder.start();
+
+        final OutputStreamAppender<ILoggingEvent> appender = new OutputStreamAppender<>();
+        appender.setName("Discarding Appender " + clazz.getSimpleName());
+        appender.setContext(loggerContext);
+        appender.setEncoder(encoder);
+        appender.setOutputStream(new OutputStream() {
+            @Override
+            public void write(final int b) {
+                // discard
+            }
+
+            @Override
+            public void write(final byte[] b, final int off, final int len) {
+                // discard
+            }
+        });
+        appender.start();
+
+        logger.detachAndStopAllAppenders();
+        logger.setAdditive(false);
+        logger.addAppender(appender);
+        logger.setLevel(Level.toLevel(this.level));
+
+        this.appenders.add(appender);
+    }
+
+    /**
+     * Baseline: direct call, without proxy
+     */
+    @Benchmark
+    public void baselineDirect() {
+        this.target.test(this.largeList);
+    }
+
+    /**
+     * Baseline: call through a proxy without advice
+     */
+    @Benchmark
+    public void baselineProxy() {
+        this.noAdviceProxy.test(this.largeList);
+    }
+
+    /**
+     * Logging advice, without argument
+     */
+    @Benchmark
+    public void logNoArgument() {
+        this.loggingProxy.test();
+    }
+
+    /**
+     * Logging advice, with a string
+     */
+    @Benchmark
+    public void logString() {
+        this.loggingProxy.test("string argument");
+    }
+
+    /**
+     * Logging advice, with an enumeration
+     */
+    @Benchmark
+    public void logEnum() {
+        this.loggingProxy.test(EnumTest.KEY);
+    }
+
+    /**
+     * Logging advice, with a date
+     */
+    @Benchmark
+    public void logDate() {
+        this.loggingProxy.test(this.date);
+    }
+
+    /**
+     * Logging advice, with all simple types
+     */
+    @Benchmark
+    public void logSimpleTypes() {
+        this.loggingProxy.test("p1", 'p', 3, Boolean.TRUE, EnumTest.KEY, this.date);
+    }
+
+    /**
+     * Logging advice, with a large collection
+     */
+    @Benchmark
+    public void logLargeCollection() {
+        this.loggingProxy.test(this.largeList);
+    }
+
+    /**
+     * Logging advice, with a large map
+     */
+    @Benchmark
+    public void logLargeMap() {
+        this.loggingProxy.test(this.largeMap);
+    }
+
+    /**
+     * Profiling advice, without argument
+     */
+    @Benchmark
+    public void profileNoArgument() {
+        this.profilingProxy.test();
+    }
+
+    /**
+     * Profiling advice, with all simple types
+     */
+    @Benchmark
+    public void profileSimpleTypes() {
+        this.profilingProxy.test("p1", 'p', 3, Boolean.TRUE, EnumTest.KEY, this.date);
+    }
+
+    /**
+     * Profiling advice with latency statistics, without argument
+     */
+    @Benchmark
+    public void profileStatistics() {
+        this.statisticsProxy.test();
+    }
+
+    /**
+     * Profiling advice on a throwing method, exception wrapped with its
+     * message and stack trace
+     * 
+     * @return the thrown exception
+     */
+    @Benchmark
+    public Throwable profileThrowWrap() {
+        return throwing(this.wrapProxy);
+    }
+
+    /**
+     * Profiling advice on a throwing method, exception wrapped with a lazy
+     * message
+     * 
+     * @return the thrown exception
+     */
+    @Benchmark
+    public Throwable profileThrowWrapLazy() {
+        return throwing(this.wrapLazyProxy);
+    }
+
+    /**
+     * Profiling advice on a throwing method, exception wrapped without stack
+     * trace and with a lazy message
+     * 
+     * @return the thrown exception
+     */
+    @Benchmark
+    public Throwable profileThrowWrapStackless() {
+        return throwing(this.wrapStacklessProxy);
+    }
+
+    /**
+     * Profiling advice on a throwing method, original exception rethrown
+     * 
+     * @return the thrown exception
+     */
+    @Benchmark
+    public Throwable profileThrowRethrow() {
+        return throwing(this.rethrowProxy);
+    }
+
+    /**
+     * Run the benchmarks
+     *
+     * @throws IOException
+     *             on error
+     * @throws RunnerException
+     *             on error
+     */
+    @Test
+    public void testPerf() throws IOException, RunnerException {
+        assertNotNull(super.run());
+    }
+}
@@ -21,6 +21,7 @@ package fr.landel.utils.aop;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
@@ -29,19 +30,35 @@ import java.awt.Color;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Before;
+import org.aspectj.lang.reflect.CodeSignature;
 import org.junit.jupiter.api.Test;
 import org.slf4j.LoggerFactory;
+import org.slf4j.Marker;
 import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
 
 import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import fr.landel.utils.aop.async.OverflowPolicy;
 import fr.landel.utils.aop.observable.AOPObservable;
 import fr.landel.utils.aop.observable.EnumTest;
+import fr.landel.utils.aop.observable.Identified;
+import fr.landel.utils.aop.render.ArgumentRenderer;
+import fr.landel.utils.aop.render.ByteArrayMode;
+import fr.landel.utils.aop.sampling.SamplingMode;
+import fr.landel.utils.aop.signature.SignatureEntry;
 import fr.landel.utils.io.EncodingUtils;
 
 /**
@@ -369,6 +386,79 @@ public class LoggingAspectTest extends AbstractAspectTest<LoggingAspect> {
 		}
 	}
 
+	/**
+	 * Check the rendering of dates through an overridden formatDate
+	 */
+	@Test
+	public void logTestFormatDate() {
+		final AbstractAspect aspect = new AbstractAspectExtends() {
+			@Override
+			protected String formatDate(final Date date) {
+				return String.valueOf(date.getTime());
+			}
+		};
+
+		assertEquals("class " + AOPObservable.class.getCanonicalName() + ".test(Date{42})",
+				aspect.getSignature(AOPObservable.class, "test", new Object[] {new Date(42)}));
+	}
+
+	/**
+	 * Check the rendering through an overridden getSignature
+	 */
+	@Test
+	public void logTestOverriddenSignature() {
+		AOPObservable target = new AOPObservable();
+
+		AspectJProxyFactory factory = new AspectJProxyFactory(target);
+		CustomSignatureAspect aspect = new CustomSignatureAspect();
+		factory.addAspect(aspect);
+
+		final Logger logger = (Logger) aspect.getLogger();
+		logger.setLevel(Level.DEBUG);
+		logger.addAppender(this.appender);
+
+		AOPObservable proxy = factory.getProxy();
+
+		try {
+			this.stream.reset();
+			proxy.test();
+			assertTrue(this.stream.toString(EncodingUtils.ENCODING_UTF_8).endsWith(" custom test"));
+
+			// the deferred rendering is ignored
+			aspect.setDeferredRendering(true);
+			this.stream.reset();
+			proxy.test();
+			assertTrue(this.stream.toString(EncodingUtils.ENCODING_UTF_8).endsWith(" custom test"));
+		} catch (IOException e) {
+			fail("Errors occurred in AspectTest#logTestOverriddenSignature()\n" + e);
+		} finally {
+			logger.detachAppender(this.appender);
+		}
+	}
+
+	/**
+	 * Logging aspect with its own signature rendering
+	 */
+	@Aspect
+	public static class CustomSignatureAspect extends AbstractAspectExtends {
+
+		/**
+		 * Log the observable methods before their executions
+		 * 
+		 * @param joinPoint
+		 *            The join point
+		 */
+		@Before("execution(* " + OBSERVABLE + ".*(..))")
+		public final void logController(final JoinPoint joinPoint) {
+			super.log(joinPoint);
+		}
+
+		@Override
+		protected String getSignature(final JoinPoint joinPoint) {
+			return "custom " + joinPoint.getSignature().getName();
+		}
+	}
+
 	/**
 	 * Check AOP
 	 */
@@ -431,6 +521,367 @@ public class LoggingAspectTest extends AbstractAspectTest<LoggingAspect> {
 		}
 	}
 
+	/**
+	 * Check AOP with argument renderers (registered and loaded through the
+	 * service loader)
+	 */
+	@Test
+	public void logTestRenderer() {
+		final String expectedLog = EXPECTED_TEXT + "((Identified){id=42})" + EXPECTED_TEXT + "((Color){0,0,0})";
+
+		AOPObservable target = new AOPObservable();
+
+		AspectJProxyFactory factory = new AspectJProxyFactory(target);
+		LoggingAspect aspect = new LoggingAspect();
+		aspect.registerRenderer(new ArgumentRenderer<Color>() {
+			@Override
+			public Class<Color> getType() {
+				return Color.class;
+			}
+
+			@Override
+			public void render(final StringBuilder builder, final Color argument) {
+				builder.append(argument.getRed()).append(',').append(argument.getGreen()).append(',').append(argument.getBlue());
+			}
+		});
+
+		factory.addAspect(aspect);
+
+		AOPObservable proxy = factory.getProxy();
+
+		this.stream.reset();
+
+		proxy.test(new Identified(42L, "large payload"));
+		proxy.test(Color.BLACK);
+
+		try {
+			String outputLog = this.stream.toString(EncodingUtils.ENCODING_UTF_8);
+
+			assertEquals(expectedLog, outputLog);
+		} catch (IOException e) {
+			fail("Errors occurred in AspectTest#logTestRenderer()\n" + e);
+		}
+	}
+
+	/**
+	 * Check AOP with primitive arrays (JoinPoint)
+	 */
+	@Test
+	public void logTestPrimitiveArrays() {
+		// @formatter:off
+		final String expectedLog = EXPECTED_TEXT + "((int[])[0, 1, 2, 3, 4, 5, 6, 7, 8, 9…])"
+				+ EXPECTED_TEXT + "((double[])[1.5])"
+				+ EXPECTED_TEXT + "((byte[])[1, 2])"
+				+ EXPECTED_TEXT + "((byte[])[length=2048: 00010203040506070809…])";
+		// @formatter:on
+
+		AOPObservable target = new AOPObservable();
+
+		AspectJProxyFactory factory = new AspectJProxyFactory(target);
+		LoggingAspect aspect = new LoggingAspect();
+		factory.addAspect(aspect);
+
+		AOPObservable proxy = factory.getProxy();
+
+		this.stream.reset();
+
+		final int[] p1 = new int[20];
+		final byte[] p3 = new byte[2048];
+		for (int i = 0; i < p1.length; i++) {
+			p1[i] = i;
+		}
+		for (int i = 0; i < p3.length; i++) {
+			p3[i] = (byte) i;
+		}
+
+		proxy.test(p1);
+		proxy.test(new double[] {1.5d});
+		proxy.test(new byte[] {1, 2});
+		aspect.setByteArrayMode(ByteArrayMode.HEX);
+		proxy.test(p3);
+
+		try {
+			String outputLog = this.stream.toString(EncodingUtils.ENCODING_UTF_8);
+
+			assertEquals(expectedLog, outputLog);
+		} catch (IOException e) {
+			fail("Errors occurred in AspectTest#logTestPrimitiveArrays()\n" + e);
+		}
+	}
+
+	/**
+	 * Check AOP with signature and argument length limits (JoinPoint)
+	 */
+	@Test
+	public void logTestMaxLength() {
+		// @formatter:off
+		final String expectedLog = EXPECTED_TEXT + "(\"xxxxxxxxxxxxxxxxxxx…)"
+				+ EXPECTED_TEXT + "((ArrayList)[aaaa, bb…)"
+				+ EXPECTED_TEXT + "(2.1, 3.2, 4, 5, 6)"
+				+ EXPECTED_TEXT + "(2.1, 3.2, …)";
+		// @formatter:on
+
+		AOPObservable target = new AOPObservable();
+
+		AspectJProxyFactory factory = new AspectJProxyFactory(target);
+		LoggingAspect aspect = new LoggingAspect();
+		aspect.setMaxArgumentLength(20);
+		aspect.setMaxSignatureLength(100);
+		factory.addAspect(aspect);
+
+		AOPObservable proxy = factory.getProxy();
+
+		this.stream.reset();
+
+		final StringBuilder p1 = new StringBuilder();
+		for (int i = 0; i < 100_000; i++) {
+			p1.append('x');
+		}
+		final List<String> p2 = new ArrayList<>();
+		p2.add("aaaa");
+		p2.add("bbbb");
+		p2.add("cccc");
+
+		proxy.test(p1.toString());
+		proxy.test(p2);
+		proxy.test(2.1d, 3.2f, 4L, 5, (short) 6);
+		// the signature prefix (class and method) is 56 characters long
+		aspect.setMaxSignatureLength(64);
+		proxy.test(2.1d, 3.2f, 4L, 5, (short) 6);
+
+		try {
+			String outputLog = this.stream.toString(EncodingUtils.ENCODING_UTF_8);
+
+			assertEquals(expectedLog, outputLog);
+		} catch (IOException e) {
+			fail("Errors occurred in AspectTest#logTestMaxLength()\n" + e);
+		}
+
+		assertThrows(IllegalArgumentException.class, () -> aspect.setMaxArgumentLength(0));
+	}
+
+	/**
+	 * Check AOP with deferred rendering (JoinPoint)
+	 */
+	@Test
+	public void logTestDeferred() {
+		final String expectedLog = EXPECTED_TEXT + "(\"p1\", p, 3, true, EnumTest.KEY, Date{2016/01/01})";
+
+		AOPObservable target = new AOPObservable();
+
+		AspectJProxyFactory factory = new AspectJProxyFactory(target);
+		LoggingAspect aspect = new LoggingAspect();
+		aspect.setDeferredRendering(true);
+		factory.addAspect(aspect);
+
+		AOPObservable proxy = factory.getProxy();
+
+		// filter out the deferred messages of the counted argument
+		final AtomicInteger renderings = new AtomicInteger();
+		final Object counted = new Object() {
+			@Override
+			public String toString() {
+				return String.valueOf(renderings.incrementAndGet());
+			}
+		};
+		final TurboFilter filter = new TurboFilter() {
+			@Override
+			public FilterReply decide(final Marker marker, final Logger logger, final Level level, final String format,
+					final Object[] params, final Throwable t) {
+				if (params != null && params.length > 0 && params[0] instanceof SignatureMessage && ((CodeSignature) ((SignatureMessage) params[0])
+						.getStaticPart().getSignature()).getParameterTypes().length == 1) {
+					return FilterReply.DENY;
+				}
+				return FilterReply.NEUTRAL;
+			}
+		};
+		final LoggerContext loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+		loggerContext.addTurboFilter(filter);
+
+		this.stream.reset();
+
+		final Calendar p6 = Calendar.getInstance();
+		p6.set(2016, Calendar.JANUARY, 1, 0, 0, 0);
+		p6.set(Calendar.MILLISECOND, 0);
+
+		try {
+			proxy.test("p1", 'p', 3, true, EnumTest.KEY, p6.getTime());
+			proxy.test(counted);
+
+			String outputLog = this.stream.toString(EncodingUtils.ENCODING_UTF_8);
+
+			assertEquals(expectedLog, outputLog);
+			// the event was dropped before any formatting
+			assertEquals(0, renderings.get());
+		} catch (IOException e) {
+			fail("Errors occurred in AspectTest#logTestDeferred()\n" + e);
+		} finally {
+			loggerContext.getTurboFilterList().remove(filter);
+		}
+	}
+
+	/**
+	 * Check the signature entries cache (JoinPoint)
+	 */
+	@Test
+	public void logTestSignatureEntries() {
+		final String expectedLog = EXPECTED_TEXT + "()" + EXPECTED_TEXT + "()" + EXPECTED_TEXT + "(\"p1\")";
+
+		AOPObservable target = new AOPObservable();
+
+		AspectJProxyFactory factory = new AspectJProxyFactory(target);
+		LoggingAspect aspect = new LoggingAspect();
+		factory.addAspect(aspect);
+
+		AOPObservable proxy = factory.getProxy();
+
+		this.stream.reset();
+
+		proxy.test();
+		proxy.test();
+		proxy.test("p1");
+
+		try {
+			String outputLog = this.stream.toString(EncodingUtils.ENCODING_UTF_8);
+
+			assertEquals(expectedLog, outputLog);
+		} catch (IOException e) {
+			fail("Errors occurred in AspectTest#logTestSignatureEntries()\n" + e);
+		}
+
+		// one entry per method
+		assertEquals(2, aspect.getSignatures().size());
+		for (SignatureEntry entry : aspect.getSignatures().getEntries()) {
+			assertEquals(AOPObservable.class, entry.getTargetClass());
+			assertEquals("test", entry.getMethodName());
+			assertEquals("class " + AOPObservable.class.getCanonicalName() + ".test(", entry.getPrefix());
+		}
+	}
+
+	/**
+	 * Check the sampling of logged calls (JoinPoint)
+	 */
+	@Test
+	public void logTestSampling() {
+		final String expectedLog = EXPECTED_TEXT + "()";
+
+		AOPObservable target = new AOPObservable();
+
+		AspectJProxyFactory factory = new AspectJProxyFactory(target);
+		LoggingAspect aspect = new LoggingAspect();
+		factory.addAspect(aspect);
+
+		AOPObservable proxy = factory.getProxy();
+
+		try {
+			// one call in three
+			aspect.setSampling(SamplingMode.ONE_IN_N, 3);
+			this.stream.reset();
+			for (int i = 0; i < 6; i++) {
+				proxy.test();
+			}
+			assertEquals(expectedLog + expectedLog, this.stream.toString(EncodingUtils.ENCODING_UTF_8));
+
+			// never
+			aspect.setSampling(SamplingMode.PROBABILISTIC, 0);
+			this.stream.reset();
+			proxy.test();
+			assertEquals("", this.stream.toString(EncodingUtils.ENCODING_UTF_8));
+
+			// one call per second
+			aspect.setSampling(SamplingMode.RATE_LIMITED, 1);
+			this.stream.reset();
+			for (int i = 0; i < 5; i++) {
+				proxy.test();
+			}
+			assertEquals(expectedLog, this.stream.toString(EncodingUtils.ENCODING_UTF_8));
+
+			aspect.setSampling(SamplingMode.ALL, 0);
+			this.stream.reset();
+			proxy.test();
+			assertEquals(expectedLog, this.stream.toString(EncodingUtils.ENCODING_UTF_8));
+		} catch (IOException e) {
+			fail("Errors occurred in AspectTest#logTestSampling()\n" + e);
+		}
+
+		assertThrows(IllegalArgumentException.class, () -> aspect.setSampling(SamplingMode.PROBABILISTIC, 2));
+	}
+
+	/**
+	 * Check the asynchronous pipeline (JoinPoint)
+	 */
+	@Test
+	public void logTestAsync() {
+		final String expectedLog = EXPECTED_TEXT + "()" + EXPECTED_TEXT + "(\"p1\")";
+
+		AOPObservable target = new AOPObservable();
+
+		AspectJProxyFactory factory = new AspectJProxyFactory(target);
+		LoggingAspect aspect = new LoggingAspect();
+		factory.addAspect(aspect);
+
+		AOPObservable proxy = factory.getProxy();
+
+		this.stream.reset();
+
+		aspect.startAsync(16, 1, OverflowPolicy.BLOCK);
+		proxy.test();
+		proxy.test("p1");
+		aspect.stopAsync();
+
+		try {
+			String outputLog = this.stream.toString(EncodingUtils.ENCODING_UTF_8);
+
+			assertEquals(expectedLog, outputLog);
+		} catch (IOException e) {
+			fail("Errors occurred in AspectTest#logTestAsync()\n" + e);
+		}
+		assertEquals(0, aspect.getDroppedEvents());
+	}
+
+	/**
+	 * Check the rate limit of the log lines (JoinPoint)
+	 * 
+	 * @throws InterruptedException
+	 *             If sleep failed
+	 */
+	@Test
+	public void logTestRateLimit() throws InterruptedException {
+		final String expectedLog = EXPECTED_TEXT + "()";
+
+		AOPObservable target = new AOPObservable();
+
+		AspectJProxyFactory factory = new AspectJProxyFactory(target);
+		LoggingAspect aspect = new LoggingAspect();
+		factory.addAspect(aspect);
+
+		AOPObservable proxy = factory.getProxy();
+
+		// one line per second, two at once
+		aspect.setLogRateLimit(1, 2);
+
+		try {
+			this.stream.reset();
+			for (int i = 0; i < 5; i++) {
+				proxy.test();
+			}
+			assertEquals(expectedLog + expectedLog, this.stream.toString(EncodingUtils.ENCODING_UTF_8));
+			assertEquals(3, aspect.getSuppressedLines());
+
+			Thread.sleep(1_100);
+
+			this.stream.reset();
+			proxy.test();
+			assertEquals(expectedLog + ", \u2026and 3 similar suppressed", this.stream.toString(EncodingUtils.ENCODING_UTF_8));
+		} catch (IOException e) {
+			fail("Errors occurred in AspectTest#logTestRateLimit()\n" + e);
+		}
+
+		aspect.setLogRateLimit(0, 0);
+		assertNull(aspect.getLogRateLimit());
+		assertThrows(IllegalArgumentException.class, () -> aspect.setLogRateLimit(1, 0));
+	}
+
 	/**
 	 * Check AOP with throwable exception (JoinPoint)
 	 */
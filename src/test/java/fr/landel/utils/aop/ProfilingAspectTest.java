@@ -20,21 +20,45 @@
 package fr.landel.utils.aop;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import java.io.IOException;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.junit.jupiter.api.Test;
 import org.slf4j.LoggerFactory;
 import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.util.concurrent.SettableListenableFuture;
 
 import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.Logger;
+import fr.landel.utils.aop.annotation.Profiled;
+import fr.landel.utils.aop.exception.AOPException;
+import fr.landel.utils.aop.exception.ExceptionMode;
+import fr.landel.utils.aop.exception.StacklessAOPException;
 import fr.landel.utils.aop.observable.AOPObservable;
+import fr.landel.utils.aop.stats.CallTree;
+import fr.landel.utils.aop.stats.CallTreeNode;
+import fr.landel.utils.aop.stats.HistogramSnapshot;
+import fr.landel.utils.aop.stats.SignatureStatistics;
+import fr.landel.utils.aop.stats.ThreadResources;
 import fr.landel.utils.io.EncodingUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 /**
  * Check profiling aspect methods.
@@ -137,4 +161,446 @@ public class ProfilingAspectTest extends AbstractAspectTest<ProfilingAspect> {
             fail("Errors occurred in AspectTest#logTest()\n" + e);
         }
     }
+
+    /**
+     * Check AOP in profile mode with statistics (latencies are recorded even
+     * if debug is disabled)
+     */
+    @Test
+    public void profileTestStatistics() {
+        final Logger logger = (Logger) LoggerFactory.getLogger(ProfilingAspect.class);
+        final Level level = logger.getLevel();
+        logger.setLevel(Level.INFO);
+
+        AOPObservable target = new AOPObservable();
+
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        ProfilingAspect aspect = new ProfilingAspect();
+        factory.addAspect(aspect);
+
+        AOPObservable proxy = factory.getProxy();
+
+        try {
+            proxy.test();
+            assertTrue(aspect.getLatencies().isEmpty());
+
+            aspect.setStatisticsEnabled(true);
+            for (int i = 0; i < 3; i++) {
+                proxy.test();
+            }
+            proxy.test("text");
+
+            final Map<String, HistogramSnapshot> latencies = aspect.getLatencies();
+            assertEquals(2, latencies.size());
+
+            final HistogramSnapshot snapshot = latencies.get(AOPObservable.class.getName() + ".test()");
+            assertEquals(3, snapshot.getCount());
+            assertTrue(snapshot.getTotal() >= snapshot.getMax());
+            assertTrue(snapshot.getP50() <= snapshot.getP99());
+            assertEquals(1, latencies.get(AOPObservable.class.getName() + ".test(java.lang.Object)").getCount());
+        } finally {
+            logger.setLevel(level);
+        }
+    }
+
+    /**
+     * Check AOP in profile mode with the threshold of the {@link Profiled}
+     * annotation
+     * 
+     * @throws InterruptedException
+     *             If sleep failed
+     */
+    @Test
+    public void profileTestThreshold() throws InterruptedException {
+        final String expectedLog = ProfilingAspect.class.getSimpleName() + " class " + AOPObservable.class.getCanonicalName()
+                + ".testSleepShort()";
+        final Pattern pattern = Pattern.compile(", running time: (\\d+) ms$");
+
+        AOPObservable target = new AOPObservable();
+
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        ProfilingAspect aspect = new ProfilingAspect();
+        factory.addAspect(aspect);
+
+        AOPObservable proxy = factory.getProxy();
+
+        try {
+            // aspect threshold, not reached
+            aspect.setThreshold(10, TimeUnit.MILLISECONDS);
+            this.stream.reset();
+            proxy.test();
+            assertTrue(this.stream.toString(EncodingUtils.ENCODING_UTF_8).isEmpty());
+
+            // annotation threshold, over the aspect threshold
+            aspect.setThreshold(1, TimeUnit.HOURS);
+            this.stream.reset();
+            proxy.testSleepShort();
+
+            String outputLog = this.stream.toString(EncodingUtils.ENCODING_UTF_8);
+            assertTrue(outputLog.startsWith(expectedLog), outputLog);
+
+            Matcher matcher = pattern.matcher(outputLog.substring(expectedLog.length()));
+            assertTrue(matcher.matches());
+            assertTrue(10 < Integer.parseInt(matcher.group(1)));
+        } catch (IOException e) {
+            fail("Errors occurred in AspectTest#profileTestThreshold()\n" + e);
+        }
+
+        final Properties properties = new Properties();
+        properties.setProperty(AbstractAspect.PROPERTY_THRESHOLD, "20 s");
+        aspect.configure(properties);
+        assertEquals(20, aspect.getThreshold(TimeUnit.SECONDS));
+
+        properties.setProperty(AbstractAspect.PROPERTY_THRESHOLD, "20 days");
+        assertThrows(IllegalArgumentException.class, () -> aspect.configure(properties));
+        properties.setProperty(AbstractAspect.PROPERTY_THRESHOLD, "-5 ms");
+        assertThrows(IllegalArgumentException.class, () -> aspect.configure(properties));
+        assertEquals(20, aspect.getThreshold(TimeUnit.SECONDS));
+        assertThrows(IllegalArgumentException.class, () -> aspect.setThreshold(-1, TimeUnit.SECONDS));
+
+        // the system properties are only applied on demand
+        System.setProperty(AbstractAspect.PROPERTY_THRESHOLD, "20 days");
+        try {
+            assertEquals(5, new ProfilingAspect().getThreshold(TimeUnit.SECONDS));
+            assertThrows(IllegalArgumentException.class, () -> new ProfilingAspect().configure(System.getProperties()));
+        } finally {
+            System.clearProperty(AbstractAspect.PROPERTY_THRESHOLD);
+        }
+    }
+
+    /**
+     * Check AOP in profile mode with aggregation (one summary per signature
+     * and window)
+     * 
+     * @throws InterruptedException
+     *             If sleep failed
+     */
+    @Test
+    public void profileTestAggregation() throws InterruptedException {
+        final String expectedLog = ProfilingAspect.class.getSimpleName() + " " + AOPObservable.class.getName() + ".test(): count=3, errors=0, min=";
+
+        AOPObservable target = new AOPObservable();
+
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        ProfilingAspect aspect = new ProfilingAspect();
+        factory.addAspect(aspect);
+
+        AOPObservable proxy = factory.getProxy();
+
+        aspect.startAggregation(1, TimeUnit.HOURS);
+        this.stream.reset();
+
+        for (int i = 0; i < 3; i++) {
+            proxy.test();
+        }
+        // slow call, aggregated
+        aspect.setThreshold(1, TimeUnit.MILLISECONDS);
+        proxy.testSleepShort();
+
+        aspect.stopAggregation();
+
+        try {
+            String outputLog = this.stream.toString(EncodingUtils.ENCODING_UTF_8);
+
+            assertTrue(outputLog.startsWith(expectedLog), outputLog);
+            assertTrue(outputLog.contains(AOPObservable.class.getName() + ".testSleepShort(): count=1, errors=0, min="), outputLog);
+            assertFalse(outputLog.contains("running time"), outputLog);
+        } catch (IOException e) {
+            fail("Errors occurred in AspectTest#profileTestAggregation()\n" + e);
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> aspect.startAggregation(0, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Check AOP in profile mode with the call tree
+     */
+    @Test
+    public void profileTestCallTree() {
+        final String nested = AOPObservable.class.getName() + ".testNested(java.lang.Runnable)";
+        final String sleep = AOPObservable.class.getName() + ".testSleepShort()";
+
+        AOPObservable target = new AOPObservable();
+
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        ProfilingAspect aspect = new ProfilingAspect();
+        factory.addAspect(aspect);
+
+        AOPObservable proxy = factory.getProxy();
+
+        aspect.startCallTree(2, 10);
+        this.stream.reset();
+
+        proxy.testNested(() -> {
+            proxy.test();
+            try {
+                proxy.testSleepShort();
+            } catch (InterruptedException e) {
+                fail(e.toString());
+            }
+            // beyond the maximum depth
+            proxy.testNested(proxy::test);
+        });
+
+        final CallTree tree = aspect.stopCallTree();
+        assertNull(aspect.getCallTree());
+
+        final List<CallTreeNode> roots = tree.getRoot().getChildren();
+        assertEquals(1, roots.size());
+        final CallTreeNode root = roots.get(0);
+        assertEquals(nested, root.getName());
+        assertEquals(1, root.getCount());
+
+        final List<CallTreeNode> children = root.getChildren();
+        assertEquals(3, children.size());
+        assertEquals(sleep, children.get(0).getName());
+        assertTrue(children.get(0).getSelfTime() >= TimeUnit.MILLISECONDS.toNanos(50));
+        assertEquals(root.getTotalTime(), root.getSelfTime() + children.stream().mapToLong(CallTreeNode::getTotalTime).sum());
+        assertEquals(1, tree.getDropped());
+
+        final Map<String, Long> selfTimes = aspect.getSelfTimes();
+        assertEquals(3, selfTimes.size());
+        assertTrue(selfTimes.get(sleep) >= TimeUnit.MILLISECONDS.toNanos(50));
+
+        try {
+            String outputLog = this.stream.toString(EncodingUtils.ENCODING_UTF_8);
+
+            assertTrue(outputLog.contains("Call tree:"), outputLog);
+            assertTrue(outputLog.contains("  " + sleep + ": count=1, total="), outputLog);
+            assertTrue(outputLog.contains("1 calls not in the tree (maximum depth: 2, maximum nodes: 10)"), outputLog);
+        } catch (IOException e) {
+            fail("Errors occurred in AspectTest#profileTestCallTree()\n" + e);
+        }
+    }
+
+    /**
+     * Check AOP in profile mode with asynchronous results
+     * 
+     * @throws InterruptedException
+     *             If sleep failed
+     */
+    @Test
+    public void profileTestCompletion() throws InterruptedException {
+        final String future = AOPObservable.class.getName() + ".testFuture(java.util.concurrent.CompletableFuture)";
+        final String listenable = AOPObservable.class.getName() + ".testListenableFuture(org.springframework.util.concurrent.ListenableFuture)";
+
+        AOPObservable target = new AOPObservable();
+
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        ProfilingAspect aspect = new ProfilingAspect();
+        aspect.setStatisticsEnabled(true);
+        factory.addAspect(aspect);
+
+        AOPObservable proxy = factory.getProxy();
+
+        // the original result, recorded on completion
+        final CompletableFuture<String> success = new CompletableFuture<>();
+        assertSame(success, proxy.testFuture(success));
+        assertTrue(aspect.getLatencies().isEmpty());
+        Thread.sleep(50);
+        success.complete("done");
+
+        HistogramSnapshot latencies = aspect.getLatencies().get(future);
+        assertEquals(1, latencies.getCount());
+        assertTrue(latencies.getMax() >= TimeUnit.MILLISECONDS.toNanos(50), String.valueOf(latencies.getMax()));
+
+        final CompletableFuture<String> failure = new CompletableFuture<>();
+        proxy.testFuture(failure);
+        failure.completeExceptionally(new IllegalStateException());
+
+        final CompletableFuture<String> cancellation = new CompletableFuture<>();
+        proxy.testFuture(cancellation);
+        cancellation.cancel(true);
+
+        assertEquals(3, aspect.getLatencies().get(future).getCount());
+        assertEquals(1, aspect.getStatistics().get(future).getErrors());
+        assertEquals(1, aspect.getStatistics().get(future).getCancellations());
+
+        // Spring futures
+        final SettableListenableFuture<String> listenableSuccess = new SettableListenableFuture<>();
+        assertSame(listenableSuccess, proxy.testListenableFuture(listenableSuccess));
+        listenableSuccess.set("done");
+
+        final SettableListenableFuture<String> listenableCancellation = new SettableListenableFuture<>();
+        proxy.testListenableFuture(listenableCancellation);
+        listenableCancellation.cancel(true);
+
+        assertEquals(2, aspect.getLatencies().get(listenable).getCount());
+        assertEquals(0, aspect.getStatistics().get(listenable).getErrors());
+        assertEquals(1, aspect.getStatistics().get(listenable).getCancellations());
+
+        // only the time to get the result
+        aspect.setCompletionAware(false);
+        proxy.testFuture(new CompletableFuture<>());
+        assertEquals(4, aspect.getLatencies().get(future).getCount());
+    }
+
+    /**
+     * Check AOP in profile mode with reactive results
+     */
+    @Test
+    public void profileTestReactive() {
+        final String flux = AOPObservable.class.getName() + ".testFlux(reactor.core.publisher.Flux)";
+        final String mono = AOPObservable.class.getName() + ".testMono(reactor.core.publisher.Mono)";
+
+        AOPObservable target = new AOPObservable();
+
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        ProfilingAspect aspect = new ProfilingAspect();
+        aspect.setStatisticsEnabled(true);
+        factory.addAspect(aspect);
+
+        AOPObservable proxy = factory.getProxy();
+
+        // recorded on subscription
+        final Flux<String> values = proxy.testFlux(Flux.just("a", "b", "c"));
+        assertTrue(aspect.getLatencies().isEmpty());
+        assertEquals(Arrays.asList("a", "b", "c"), values.collectList().block());
+        assertEquals(1, aspect.getLatencies().get(flux).getCount());
+        assertEquals(3, aspect.getStatistics().get(flux).getElements());
+
+        assertThrows(IllegalStateException.class, () -> proxy.testFlux(Flux.error(new IllegalStateException())).blockLast());
+        assertEquals(1, aspect.getStatistics().get(flux).getErrors());
+
+        proxy.testFlux(Flux.never()).subscribe().dispose();
+        assertEquals(1, aspect.getStatistics().get(flux).getCancellations());
+        assertEquals(3, aspect.getLatencies().get(flux).getCount());
+
+        assertEquals("a", proxy.testMono(Mono.just("a")).block());
+        assertEquals(1, aspect.getLatencies().get(mono).getCount());
+        assertEquals(1, aspect.getStatistics().get(mono).getElements());
+        assertEquals(0, aspect.getStatistics().get(mono).getCancellations());
+    }
+
+    /**
+     * Check AOP in profile mode with the resource accounting
+     */
+    @Test
+    public void profileTestResources() {
+        final String allocate = AOPObservable.class.getName() + ".testAllocate(int)";
+
+        AOPObservable target = new AOPObservable();
+
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        ProfilingAspect aspect = new ProfilingAspect();
+        factory.addAspect(aspect);
+
+        AOPObservable proxy = factory.getProxy();
+
+        // not measured
+        proxy.testAllocate(1_000_000);
+
+        aspect.setResourceAccounting(true);
+        proxy.test();
+        proxy.testAllocate(1_000_000);
+        proxy.testAllocate(1_000_000);
+
+        final SignatureStatistics statistics = aspect.getStatistics().get(allocate);
+        assertEquals(2, statistics.getResourceCalls());
+        assertTrue(statistics.getCpuTime() >= 0);
+
+        if (ThreadResources.isAllocatedBytesEnabled()) {
+            assertTrue(statistics.getAllocatedBytes() >= 2_000_000, String.valueOf(statistics.getAllocatedBytes()));
+
+            final Map<String, Long> hotspots = aspect.getAllocationHotspots(1);
+            assertEquals(1, hotspots.size());
+            assertEquals(statistics.getAllocatedBytes(), hotspots.get(allocate).longValue());
+        } else {
+            assertTrue(aspect.getAllocationHotspots(1).isEmpty());
+        }
+    }
+
+    /**
+     * Check AOP in profile mode with the contention monitoring
+     * 
+     * @throws InterruptedException
+     *             If sleep failed
+     */
+    @Test
+    public void profileTestContention() throws InterruptedException {
+        final String lock = AOPObservable.class.getName() + ".testLock(java.lang.Object)";
+        final String sleep = AOPObservable.class.getName() + ".testSleepShort()";
+
+        AOPObservable target = new AOPObservable();
+
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        ProfilingAspect aspect = new ProfilingAspect();
+        aspect.setContentionMonitoring(true);
+        factory.addAspect(aspect);
+
+        AOPObservable proxy = factory.getProxy();
+
+        // the monitor is held by another thread during 100 ms
+        final Object monitor = new Object();
+        final CountDownLatch locked = new CountDownLatch(1);
+        final Thread owner = new Thread(() -> {
+            synchronized (monitor) {
+                locked.countDown();
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        owner.start();
+        locked.await();
+
+        proxy.testLock(monitor);
+        owner.join();
+        proxy.testSleepShort();
+
+        assertEquals(1, aspect.getStatistics().get(lock).getBlockedCount());
+        assertTrue(aspect.getStatistics().get(sleep).getWaitedCount() >= 1);
+
+        if (ThreadResources.enableContention()) {
+            assertTrue(aspect.getStatistics().get(lock).getBlockedTime() > 0);
+
+            final Map<String, Long> hotspots = aspect.getContentionHotspots(1);
+            assertEquals(1, hotspots.size());
+            assertTrue(hotspots.containsKey(lock), hotspots.toString());
+        }
+    }
+
+    /**
+     * Check AOP in profile mode with the exception modes
+     */
+    @Test
+    public void profileTestExceptionMode() {
+        final String expectedMessage = "Error occurred during profiling ";
+        final String expectedMethod = AOPObservable.class.getSimpleName() + ".testThrowable()";
+
+        AOPObservable target = new AOPObservable();
+
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        ProfilingAspect aspect = new ProfilingAspect();
+        factory.addAspect(aspect);
+
+        AOPObservable proxy = factory.getProxy();
+
+        // checked, not declared by the observable
+        UndeclaredThrowableException exception = assertThrows(UndeclaredThrowableException.class, proxy::testThrowable);
+        assertTrue(exception.getCause() instanceof AOPException);
+        assertTrue(exception.getCause().getMessage().startsWith(expectedMessage));
+        assertTrue(exception.getCause().getMessage().endsWith(expectedMethod));
+        assertTrue(exception.getCause().getCause() instanceof UnsupportedOperationException);
+
+        aspect.setExceptionMode(ExceptionMode.WRAP_LAZY);
+        exception = assertThrows(UndeclaredThrowableException.class, proxy::testThrowable);
+        assertTrue(exception.getCause() instanceof AOPException);
+        assertTrue(exception.getCause().getMessage().startsWith(expectedMessage));
+        assertTrue(exception.getCause().getMessage().endsWith(expectedMethod));
+        assertTrue(exception.getCause().getCause() instanceof UnsupportedOperationException);
+
+        aspect.setExceptionMode(ExceptionMode.WRAP_STACKLESS);
+        exception = assertThrows(UndeclaredThrowableException.class, proxy::testThrowable);
+        assertTrue(exception.getCause() instanceof StacklessAOPException);
+        assertEquals(0, exception.getCause().getStackTrace().length);
+        assertTrue(exception.getCause().getMessage().startsWith(expectedMessage));
+        assertTrue(exception.getCause().getMessage().endsWith(expectedMethod));
+        assertTrue(exception.getCause().getCause() instanceof UnsupportedOperationException);
+
+        aspect.setExceptionMode(ExceptionMode.RETHROW);
+        assertThrows(UnsupportedOperationException.class, proxy::testThrowable);
+    }
 }
@@ -0,0 +1,140 @@
+/*
+ * #%L
+ * utils-aop
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.aop.async;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Check asynchronous dispatcher
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public class AsyncDispatcherTest {
+
+    /**
+     * Test method for {@link AsyncDispatcher} with {@link OverflowPolicy#DROP}.
+     * 
+     * @throws InterruptedException
+     *             on interruption
+     */
+    @Test
+    public void testDrop() throws InterruptedException {
+        final CountDownLatch blocked = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicLong handled = new AtomicLong();
+
+        final AsyncDispatcher<long[]> dispatcher = new AsyncDispatcher<>("test-drop", 4, () -> new long[1], event -> {
+            blocked.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            handled.incrementAndGet();
+        }, 1, OverflowPolicy.DROP);
+
+        // the consumer is blocked on the first event
+        dispatcher.publish(dispatcher.claim());
+        assertTrue(blocked.await(10, TimeUnit.SECONDS));
+
+        // 4 slots, the first one is released once handled
+        int published = 1;
+        for (int i = 0; i < 10; i++) {
+            final long sequence = dispatcher.claim();
+            if (sequence >= 0) {
+                dispatcher.publish(sequence);
+                published++;
+            }
+        }
+        assertEquals(4, published);
+        assertEquals(7, dispatcher.getDropped());
+
+        release.countDown();
+        dispatcher.close();
+        assertEquals(4, handled.get());
+
+        // closed
+        assertEquals(-1, dispatcher.claim());
+        assertEquals(8, dispatcher.getDropped());
+    }
+
+    /**
+     * Test method for {@link AsyncDispatcher} with {@link OverflowPolicy#BLOCK}.
+     */
+    @Test
+    public void testBlock() {
+        final AtomicLong sum = new AtomicLong();
+        final AsyncDispatcher<long[]> dispatcher = new AsyncDispatcher<>("test-block", 2, () -> new long[1], event -> {
+            sum.addAndGet(event[0]);
+        }, 2, OverflowPolicy.BLOCK);
+
+        assertEquals(OverflowPolicy.BLOCK, dispatcher.getPolicy());
+        for (int i = 1; i <= 1_000; i++) {
+            final long sequence = dispatcher.claim();
+            dispatcher.get(sequence)[0] = i;
+            dispatcher.publish(sequence);
+        }
+        dispatcher.close();
+
+        assertEquals(500_500L, sum.get());
+        assertEquals(0, dispatcher.getDropped());
+        assertEquals(0, dispatcher.getPending());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new AsyncDispatcher<>("test-error", 2, Object::new, event -> {
+                }, 0, OverflowPolicy.DROP));
+    }
+
+    /**
+     * Test method for {@link AsyncDispatcher} with a failing consumer.
+     */
+    @Test
+    public void testFailed() {
+        final AsyncDispatcher<long[]> dispatcher = new AsyncDispatcher<>("test-failed", 2, () -> new long[1], event -> {
+            throw new Error("consumer failure");
+        }, 1, OverflowPolicy.BLOCK);
+        assertFalse(dispatcher.isFailed());
+
+        // the producers don't block once the consumer is gone
+        long sequence;
+        int published = 0;
+        while ((sequence = dispatcher.claim()) >= 0) {
+            dispatcher.publish(sequence);
+            published++;
+        }
+        assertTrue(published > 0);
+        assertTrue(dispatcher.isFailed());
+        assertEquals(-1, dispatcher.claim());
+
+        dispatcher.close();
+        assertEquals(0, dispatcher.getPending());
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * #%L
+ * utils-aop
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.aop.async;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Check event ring buffer
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public class EventRingBufferTest {
+
+    /**
+     * Test method for {@link EventRingBuffer} (single thread).
+     */
+    @Test
+    public void testClaimAndTake() {
+        final EventRingBuffer<long[]> ring = new EventRingBuffer<>(3, () -> new long[1]);
+        assertEquals(4, ring.capacity());
+        assertEquals(-1, ring.tryTake());
+
+        for (int i = 0; i < 4; i++) {
+            final long sequence = ring.tryClaim();
+            assertEquals(i, sequence);
+            ring.get(sequence)[0] = i * 10;
+            ring.publish(sequence);
+        }
+        assertEquals(4, ring.size());
+
+        // full
+        assertEquals(-1, ring.tryClaim());
+
+        final long taken = ring.tryTake();
+        assertEquals(0, taken);
+        assertEquals(0, ring.get(taken)[0]);
+        final long[] event = ring.get(taken);
+        ring.release(taken);
+
+        // the slot is reused
+        final long sequence = ring.tryClaim();
+        assertEquals(4, sequence);
+        assertSame(event, ring.get(sequence));
+
+        // published in order
+        for (int i = 1; i < 4; i++) {
+            final long next = ring.tryTake();
+            assertEquals(i * 10, ring.get(next)[0]);
+            ring.release(next);
+        }
+
+        // claimed but not published
+        assertEquals(-1, ring.tryTake());
+        ring.publish(sequence);
+        assertEquals(4, ring.tryTake());
+
+        assertThrows(IllegalArgumentException.class, () -> new EventRingBuffer<>(0, Object::new));
+    }
+
+    /**
+     * Test method for {@link EventRingBuffer} (multiple producers and
+     * consumers).
+     * 
+     * @throws InterruptedException
+     *             on interruption
+     */
+    @Test
+    public void testConcurrent() throws InterruptedException {
+        final int producers = 4;
+        final int consumers = 4;
+        final int events = 100_000;
+
+        final EventRingBuffer<long[]> ring = new EventRingBuffer<>(64, () -> new long[1]);
+        final AtomicLong sum = new AtomicLong();
+        final AtomicLong count = new AtomicLong();
+
+        final ExecutorService executor = Executors.newFixedThreadPool(producers + consumers);
+        for (int p = 0; p < producers; p++) {
+            executor.execute(() -> {
+                for (int i = 1; i <= events; i++) {
+                    long sequence;
+                    while ((sequence = ring.tryClaim()) < 0) {
+                        Thread.yield();
+                    }
+                    ring.get(sequence)[0] = i;
+                    ring.publish(sequence);
+                }
+            });
+        }
+        for (int c = 0; c < consumers; c++) {
+            executor.execute(() -> {
+                while (count.get() < (long) producers * events) {
+                    final long sequence = ring.tryTake();
+                    if (sequence >= 0) {
+                        sum.addAndGet(ring.get(sequence)[0]);
+                        ring.release(sequence);
+                        count.incrementAndGet();
+                    } else {
+                        Thread.yield();
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+
+        assertEquals((long) producers * events, count.get());
+        assertEquals((long) producers * events * (events + 1) / 2, sum.get());
+        assertEquals(0, ring.size());
+    }
+}
@@ -21,8 +21,10 @@ package fr.landel.utils.aop.exception;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Test;
 
@@ -145,4 +147,27 @@ public class AOPExceptionTest {
         assertEquals(expectedMessage, exception.getMessage());
         assertEquals(expectedCause, exception.getCause());
     }
+
+    /**
+     * Test method for
+     * {@link StacklessAOPException#StacklessAOPException(java.util.function.Supplier, Throwable)}
+     * .
+     */
+    @Test
+    public void testStacklessAOPException() {
+        final AtomicInteger calls = new AtomicInteger();
+        final Throwable expectedCause = new IllegalArgumentException("illegal");
+        final StacklessAOPException exception = new StacklessAOPException(() -> "message " + calls.incrementAndGet(), expectedCause);
+
+        // no stack trace, the message is not built until read
+        assertEquals(0, exception.getStackTrace().length);
+        assertSame(exception, exception.fillInStackTrace());
+        assertEquals(0, exception.getStackTrace().length);
+        assertEquals(0, calls.get());
+
+        assertEquals("message 1", exception.getMessage());
+        assertEquals("message 1", exception.getMessage());
+        assertEquals(1, calls.get());
+        assertEquals(expectedCause, exception.getCause());
+    }
 }
@@ -0,0 +1,123 @@
+/*
+ * #%L
+ * utils-aop
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.aop.jmx;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.Attribute;
+import javax.management.JMException;
+import javax.management.JMX;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import fr.landel.utils.aop.AbstractAspect;
+import fr.landel.utils.aop.ProfilingAspect;
+import fr.landel.utils.aop.exception.AOPException;
+import fr.landel.utils.aop.observable.AOPObservable;
+import fr.landel.utils.aop.sampling.SamplingMode;
+
+/**
+ * Check aspect MXBean
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public class AspectStatisticsTest {
+
+    /**
+     * Test method for {@link AbstractAspect#registerMBean()} and
+     * {@link AspectStatistics}.
+     * 
+     * @throws AOPException
+     *             on registration failure
+     * @throws JMException
+     *             on JMX failure
+     */
+    @Test
+    public void testMBean() throws AOPException, JMException {
+        final String signature = AOPObservable.class.getName() + ".test()";
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+        AOPObservable target = new AOPObservable();
+
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        ProfilingAspect aspect = new ProfilingAspect();
+        factory.addAspect(aspect);
+
+        AOPObservable proxy = factory.getProxy();
+
+        final ObjectName name = aspect.registerMBean();
+        try {
+            assertTrue(server.isRegistered(name));
+            assertEquals(AbstractAspect.JMX_DOMAIN, name.getDomain());
+            assertEquals(ProfilingAspect.class.getSimpleName(), name.getKeyProperty("name"));
+            assertTrue(aspect.isStatisticsEnabled());
+
+            proxy.test();
+            proxy.test();
+
+            // tabular statistics
+            final TabularData signatures = (TabularData) server.getAttribute(name, "Signatures");
+            assertEquals(1, signatures.size());
+            final CompositeData statistics = (CompositeData) signatures.get(new Object[] {signature}).get("value");
+            assertEquals(2L, statistics.get("count"));
+            assertEquals(0L, statistics.get("errors"));
+            assertTrue((double) statistics.get("max") >= (double) statistics.get("p50"));
+            assertTrue((double) statistics.get("throughput") > 0);
+
+            // operations
+            server.setAttribute(name, new Attribute("ThresholdMillis", 20L));
+            assertEquals(20, aspect.getThreshold(TimeUnit.MILLISECONDS));
+
+            server.invoke(name, "setSampling", new Object[] {"one_in_n", 4d}, new String[] {String.class.getName(), double.class.getName()});
+            assertEquals(SamplingMode.ONE_IN_N, aspect.getSampler().getMode());
+            assertEquals(4d, aspect.getSampler().getRate());
+
+            // typed proxy
+            final AspectStatisticsMXBean mbean = JMX.newMXBeanProxy(server, name, AspectStatisticsMXBean.class);
+            assertEquals("ONE_IN_N", mbean.getSamplingMode());
+            assertEquals(2, mbean.getSignatures().get(signature).getCount());
+
+            mbean.resetStatistics();
+            assertTrue(mbean.getSignatures().isEmpty());
+
+            // a new registration per aspect instance
+            final ProfilingAspect other = new ProfilingAspect();
+            final ObjectName otherName = other.registerMBean();
+            assertNotEquals(name, otherName);
+            other.unregisterMBean();
+        } finally {
+            aspect.unregisterMBean();
+        }
+        assertFalse(server.isRegistered(name));
+    }
+}
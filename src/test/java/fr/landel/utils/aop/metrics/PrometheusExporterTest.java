@@ -0,0 +1,136 @@
+/*
+ * #%L
+ * utils-aop
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.aop.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import fr.landel.utils.aop.ProfilingAspect;
+import fr.landel.utils.aop.observable.AOPObservable;
+
+/**
+ * Check Prometheus exporter
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public class PrometheusExporterTest {
+
+    /**
+     * Test method for {@link PrometheusExporter#write(java.io.Writer)} and
+     * {@link PrometheusExporter#start(InetSocketAddress)}.
+     * 
+     * @throws IOException
+     *             on server failure
+     * @throws InterruptedException
+     *             if sleep failed
+     */
+    @Test
+    public void testExporter() throws IOException, InterruptedException {
+        final String signature = AOPObservable.class.getName() + ".test()";
+
+        AOPObservable target = new AOPObservable();
+
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        ProfilingAspect aspect = new ProfilingAspect();
+        factory.addAspect(aspect);
+
+        AOPObservable proxy = factory.getProxy();
+
+        assertThrows(IllegalArgumentException.class, () -> new PrometheusExporter(aspect, -1));
+
+        try (PrometheusExporter exporter = new PrometheusExporter(aspect, 1)) {
+            assertEquals(-1, exporter.getPort());
+
+            proxy.test();
+            proxy.test();
+            proxy.testSleepShort();
+
+            final StringWriter writer = new StringWriter();
+            exporter.write(writer);
+            final String metrics = writer.toString();
+
+            assertTrue(metrics.contains("# TYPE aop_call_duration_seconds histogram\n"));
+            assertTrue(metrics.contains("aop_call_duration_seconds_bucket{signature=\"" + signature + "\",le=\"+Inf\"} 2\n"));
+            assertTrue(metrics.contains("aop_call_duration_seconds_count{signature=\"" + signature + "\"} 2\n"));
+            assertTrue(metrics.contains("aop_call_errors_total{signature=\"" + signature + "\"} 0\n"));
+
+            // bounded labels, the second signature is merged
+            assertFalse(metrics.contains("testSleepShort"));
+            assertTrue(metrics.contains("aop_call_duration_seconds_bucket{signature=\"other\",le=\"0.0001\"} 0\n"));
+            assertTrue(metrics.contains("aop_call_duration_seconds_bucket{signature=\"other\",le=\"10\"} 1\n"));
+            assertTrue(metrics.contains("aop_call_duration_seconds_count{signature=\"other\"} 1\n"));
+            assertTrue(metrics.contains("aop_call_cancellations_total{signature=\"other\"} 0\n"));
+
+            // HTTP
+            exporter.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+            assertTrue(exporter.getPort() > 0);
+
+            final URL url = new URL("http", InetAddress.getLoopbackAddress().getHostAddress(), exporter.getPort(),
+                    PrometheusExporter.PATH);
+            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+            assertEquals(200, connection.getResponseCode());
+            assertEquals(PrometheusExporter.CONTENT_TYPE, connection.getContentType());
+            try (InputStream input = connection.getInputStream()) {
+                final ByteArrayOutputStream output = new ByteArrayOutputStream();
+                final byte[] buffer = new byte[1024];
+                int read;
+                while ((read = input.read(buffer)) > -1) {
+                    output.write(buffer, 0, read);
+                }
+                assertEquals(metrics, new String(output.toByteArray(), StandardCharsets.UTF_8));
+            }
+
+            connection = (HttpURLConnection) url.openConnection();
+            connection.setRequestMethod("POST");
+            assertEquals(405, connection.getResponseCode());
+
+            // the labels are kept, even without calls since the reset
+            aspect.resetStatistics();
+            proxy.testSleepShort();
+
+            final StringWriter resetWriter = new StringWriter();
+            exporter.write(resetWriter);
+            final String reset = resetWriter.toString();
+
+            assertTrue(reset.contains("aop_call_duration_seconds_count{signature=\"" + signature + "\"} 0\n"));
+            assertTrue(reset.contains("aop_call_errors_total{signature=\"" + signature + "\"} 0\n"));
+            assertFalse(reset.contains("testSleepShort"));
+            assertTrue(reset.contains("aop_call_duration_seconds_count{signature=\"other\"} 1\n"));
+            assertTrue(reset.contains("aop_call_errors_total{signature=\"other\"} 0\n"));
+        }
+    }
+}
@@ -23,11 +23,17 @@ import java.util.Date;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.util.concurrent.ListenableFuture;
 
+import fr.landel.utils.aop.annotation.Profiled;
 import fr.landel.utils.commons.DateUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 /**
  * AOP observable for tests
@@ -39,6 +45,7 @@ import fr.landel.utils.commons.DateUtils;
 public class AOPObservable {
 
     private static final long TIMEOUT = 6 * DateUtils.MILLIS_PER_SECOND;
+    private static final long SHORT_TIMEOUT = 50;
     private static final Logger LOGGER = LoggerFactory.getLogger(AOPObservable.class);
 
     /**
@@ -155,4 +162,92 @@ public class AOPObservable {
         Thread.sleep(TIMEOUT);
         LOGGER.info("STOP AOPObservable#testSleep: " + System.currentTimeMillis());
     }
+
+    /**
+     * Test sleep method (reach the profiling threshold of the method)
+     * 
+     * @throws InterruptedException
+     *             If sleep failed
+     */
+    @Profiled(threshold = 10, unit = TimeUnit.MILLISECONDS)
+    public void testSleepShort() throws InterruptedException {
+        Thread.sleep(SHORT_TIMEOUT);
+    }
+
+    /**
+     * Test method that calls other methods (nested calls through the proxy)
+     * 
+     * @param inner
+     *            the inner calls
+     */
+    public void testNested(final Runnable inner) {
+        inner.run();
+    }
+
+    /**
+     * Test method with an asynchronous result
+     * 
+     * @param future
+     *            the future (completed by the caller)
+     * @return the future
+     */
+    public CompletableFuture<String> testFuture(final CompletableFuture<String> future) {
+        return future;
+    }
+
+    /**
+     * Test method with a Spring asynchronous result
+     * 
+     * @param future
+     *            the future (completed by the caller)
+     * @return the future
+     */
+    public ListenableFuture<String> testListenableFuture(final ListenableFuture<String> future) {
+        return future;
+    }
+
+    /**
+     * Test method with a reactive result
+     * 
+     * @param flux
+     *            the flux
+     * @return the flux
+     */
+    public Flux<String> testFlux(final Flux<String> flux) {
+        return flux;
+    }
+
+    /**
+     * Test method with a reactive result
+     * 
+     * @param mono
+     *            the mono
+     * @return the mono
+     */
+    public Mono<String> testMono(final Mono<String> mono) {
+        return mono;
+    }
+
+    /**
+     * Test method that allocates an array
+     * 
+     * @param size
+     *            the size of the array
+     * @return the array
+     */
+    public byte[] testAllocate(final int size) {
+        return new byte[size];
+    }
+
+    /**
+     * Test method that enters a monitor
+     * 
+     * @param lock
+     *            the monitor
+     */
+    public void testLock(final Object lock) {
+        synchronized (lock) {
+            LOGGER.info("AOPObservable#testLock: locked");
+        }
+    }
 }
@@ -0,0 +1,66 @@
+/*
+ * #%L
+ * utils-aop
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.aop.observable;
+
+/**
+ * A domain object with an expensive {@link #toString()} to test the argument
+ * renderers
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public class Identified {
+
+    private final long id;
+    private final String payload;
+
+    /**
+     * Constructor
+     *
+     * @param id
+     *            the identifier
+     * @param payload
+     *            the payload
+     */
+    public Identified(final long id, final String payload) {
+        this.id = id;
+        this.payload = payload;
+    }
+
+    /**
+     * @return the identifier
+     */
+    public long getId() {
+        return this.id;
+    }
+
+    /**
+     * @return the payload
+     */
+    public String getPayload() {
+        return this.payload;
+    }
+
+    @Override
+    public String toString() {
+        return "Identified [id=" + this.id + ", payload=" + this.payload + "]";
+    }
+}
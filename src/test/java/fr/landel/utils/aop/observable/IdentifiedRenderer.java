@@ -0,0 +1,43 @@
+/*
+ * #%L
+ * utils-aop
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.aop.observable;
+
+import fr.landel.utils.aop.render.ArgumentRenderer;
+
+/**
+ * Renderer of {@link Identified} (id only), declared through the service
+ * loader
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public class IdentifiedRenderer implements ArgumentRenderer<Identified> {
+
+    @Override
+    public Class<Identified> getType() {
+        return Identified.class;
+    }
+
+    @Override
+    public void render(final StringBuilder builder, final Identified argument) {
+        builder.append("id=").append(argument.getId());
+    }
+}
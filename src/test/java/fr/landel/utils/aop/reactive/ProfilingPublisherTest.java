@@ -0,0 +1,191 @@
+/*
+ * #%L
+ * utils-aop
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.aop.reactive;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * Check profiling publisher
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public class ProfilingPublisherTest {
+
+    /**
+     * Test method for {@link ProfilingPublisher#subscribe(Subscriber)}.
+     */
+    @Test
+    public void testSubscribe() {
+        final List<Object[]> terminations = new ArrayList<>();
+        final PublisherListener listener = (elapsed, elements, error, cancelled) -> terminations
+                .add(new Object[] {elapsed, elements, error, cancelled});
+
+        // completed
+        final ListSubscriber completed = new ListSubscriber(Long.MAX_VALUE);
+        new ProfilingPublisher<>(new ListPublisher(null, 1, 2, 3), listener, false).subscribe(completed);
+        assertEquals(Arrays.asList(1, 2, 3), completed.elements);
+        assertTrue(completed.completed);
+        assertEquals(1, terminations.size());
+        assertTrue((long) terminations.get(0)[0] >= 0);
+        assertEquals(3L, terminations.get(0)[1]);
+        assertNull(terminations.get(0)[2]);
+        assertFalse((boolean) terminations.get(0)[3]);
+
+        // failed
+        final IllegalStateException exception = new IllegalStateException();
+        final ListSubscriber failed = new ListSubscriber(Long.MAX_VALUE);
+        new ProfilingPublisher<>(new ListPublisher(exception, 1), listener, false).subscribe(failed);
+        assertSame(exception, failed.error);
+        assertEquals(2, terminations.size());
+        assertEquals(1L, terminations.get(1)[1]);
+        assertSame(exception, terminations.get(1)[2]);
+        assertFalse((boolean) terminations.get(1)[3]);
+
+        // cancelled after the first element, notified once
+        final ListSubscriber cancelled = new ListSubscriber(1);
+        new ProfilingPublisher<>(new ListPublisher(null, 1, 2, 3), listener, false).subscribe(cancelled);
+        cancelled.subscription.cancel();
+        cancelled.subscription.cancel();
+        assertEquals(3, terminations.size());
+        assertEquals(1L, terminations.get(2)[1]);
+        assertNull(terminations.get(2)[2]);
+        assertTrue((boolean) terminations.get(2)[3]);
+
+        // single, terminated by the first element
+        final ListSubscriber single = new ListSubscriber(1);
+        new ProfilingPublisher<>(new ListPublisher(null, 1), listener, true).subscribe(single);
+        single.subscription.cancel();
+        assertEquals(4, terminations.size());
+        assertEquals(1L, terminations.get(3)[1]);
+        assertFalse((boolean) terminations.get(3)[3]);
+    }
+
+    /**
+     * Test method for
+     * {@link ReactiveSupport#profile(Object, Class, PublisherListener)}.
+     */
+    @Test
+    public void testProfile() {
+        final PublisherListener listener = (elapsed, elements, error, cancelled) -> {
+        };
+        final Publisher<Integer> publisher = new ListPublisher(null, 1);
+
+        assertTrue(ReactiveSupport.REACTIVE_STREAMS);
+        assertTrue(ReactiveSupport.profile(publisher, Publisher.class, listener) instanceof Publisher);
+        // not assignable to the declared type
+        assertNull(ReactiveSupport.profile(publisher, ListPublisher.class, listener));
+        assertNull(ReactiveSupport.profile("text", String.class, listener));
+        assertNull(ReactiveSupport.profile(null, Publisher.class, listener));
+    }
+
+    /**
+     * Publisher of a list of elements, followed by an error or a completion
+     */
+    private static class ListPublisher implements Publisher<Integer> {
+
+        private final Throwable error;
+        private final int[] elements;
+
+        ListPublisher(final Throwable error, final int... elements) {
+            this.error = error;
+            this.elements = elements;
+        }
+
+        @Override
+        public void subscribe(final Subscriber<? super Integer> subscriber) {
+            subscriber.onSubscribe(new Subscription() {
+                private int index;
+                private boolean done;
+
+                @Override
+                public void request(final long n) {
+                    for (long i = 0; i < n && !this.done && index < elements.length; i++) {
+                        subscriber.onNext(elements[index++]);
+                    }
+                    if (!this.done && index == elements.length) {
+                        this.done = true;
+                        if (error != null) {
+                            subscriber.onError(error);
+                        } else {
+                            subscriber.onComplete();
+                        }
+                    }
+                }
+
+                @Override
+                public void cancel() {
+                    this.done = true;
+                }
+            });
+        }
+    }
+
+    /**
+     * Subscriber collecting the elements
+     */
+    private static class ListSubscriber implements Subscriber<Integer> {
+
+        private final long request;
+        private final List<Integer> elements = new ArrayList<>();
+        private Subscription subscription;
+        private Throwable error;
+        private boolean completed;
+
+        ListSubscriber(final long request) {
+            this.request = request;
+        }
+
+        @Override
+        public void onSubscribe(final Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(this.request);
+        }
+
+        @Override
+        public void onNext(final Integer element) {
+            this.elements.add(element);
+        }
+
+        @Override
+        public void onError(final Throwable error) {
+            this.error = error;
+        }
+
+        @Override
+        public void onComplete() {
+            this.completed = true;
+        }
+    }
+}
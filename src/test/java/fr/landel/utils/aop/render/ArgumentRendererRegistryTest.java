@@ -0,0 +1,179 @@
+/*
+ * #%L
+ * utils-aop
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.aop.render;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.ServiceConfigurationError;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import fr.landel.utils.aop.observable.Identified;
+import fr.landel.utils.aop.observable.IdentifiedRenderer;
+
+/**
+ * Check argument renderer registry
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public class ArgumentRendererRegistryTest {
+
+    /**
+     * Test method for {@link ArgumentRendererRegistry#find(Class)}.
+     */
+    @Test
+    public void testFind() {
+        final ArgumentRendererRegistry registry = new ArgumentRendererRegistry();
+
+        assertNull(registry.find(ArrayList.class));
+
+        final ArgumentRenderer<Collection> collectionRenderer = renderer(Collection.class, "collection");
+        registry.register(collectionRenderer);
+
+        assertSame(collectionRenderer, registry.find(ArrayList.class));
+        assertNull(registry.find(String.class));
+
+        // the most specific renderer is selected, whatever the order
+        final ArgumentRenderer<AbstractList> abstractListRenderer = renderer(AbstractList.class, "abstract list");
+        final ArgumentRenderer<List> listRenderer = renderer(List.class, "list");
+        registry.register(abstractListRenderer);
+        registry.register(listRenderer);
+
+        assertSame(abstractListRenderer, registry.find(ArrayList.class));
+        assertSame(listRenderer, registry.find(List.class));
+        assertSame(collectionRenderer, registry.find(Collection.class));
+
+        // replacement
+        final ArgumentRenderer<AbstractList> abstractListRenderer2 = renderer(AbstractList.class, "abstract list 2");
+        registry.register(abstractListRenderer2);
+        assertSame(abstractListRenderer2, registry.find(ArrayList.class));
+        assertEquals(3, registry.getRenderers().size());
+    }
+
+    /**
+     * Test method for {@link ArgumentRendererRegistry#loadServices}.
+     */
+    @Test
+    public void testLoadServices() {
+        final ArgumentRendererRegistry registry = new ArgumentRendererRegistry();
+        registry.loadServices(this.getClass().getClassLoader());
+
+        final ArgumentRenderer<Object> renderer = registry.find(Identified.class);
+        assertEquals(IdentifiedRenderer.class, renderer.getClass());
+
+        final StringBuilder builder = new StringBuilder();
+        renderer.render(builder, new Identified(1L, "payload"));
+        assertEquals("id=1", builder.toString());
+    }
+
+    /**
+     * Test method for {@link ArgumentRendererRegistry#loadServices} with a
+     * provider which cannot be loaded.
+     * 
+     * @throws IOException
+     *             if the services file cannot be written
+     */
+    @Test
+    public void testLoadServicesError() throws IOException {
+        final Path services = Files.createTempFile("renderers", ".txt");
+        try {
+            Files.write(services, Arrays.asList("fr.landel.utils.aop.observable.MissingRenderer", IdentifiedRenderer.class.getName()));
+
+            final ClassLoader classLoader = new ClassLoader(this.getClass().getClassLoader()) {
+                @Override
+                public Enumeration<URL> getResources(final String name) throws IOException {
+                    if (name.equals("META-INF/services/" + ArgumentRenderer.class.getName())) {
+                        return Collections.enumeration(Collections.singletonList(services.toUri().toURL()));
+                    }
+                    return super.getResources(name);
+                }
+            };
+
+            final ArgumentRendererRegistry registry = new ArgumentRendererRegistry();
+            registry.loadServices(classLoader);
+
+            // the missing provider is skipped
+            assertEquals(1, registry.getRenderers().size());
+            assertEquals(IdentifiedRenderer.class, registry.find(Identified.class).getClass());
+        } finally {
+            Files.delete(services);
+        }
+    }
+
+    /**
+     * Test method for {@link ArgumentRendererRegistry#loadServices}.
+     */
+    @Test
+    @SuppressWarnings("rawtypes")
+    public void testLoadServicesUnreadable() {
+        final AtomicInteger calls = new AtomicInteger();
+        final Iterator<ArgumentRenderer> iterator = new Iterator<ArgumentRenderer>() {
+            @Override
+            public boolean hasNext() {
+                calls.incrementAndGet();
+                throw new ServiceConfigurationError("unreadable");
+            }
+
+            @Override
+            public ArgumentRenderer next() {
+                throw new NoSuchElementException();
+            }
+        };
+
+        final ArgumentRendererRegistry registry = new ArgumentRendererRegistry();
+        registry.loadServices(iterator);
+
+        // the loading stops on the first services error
+        assertEquals(1, calls.get());
+        assertEquals(0, registry.getRenderers().size());
+    }
+
+    private static <T> ArgumentRenderer<T> renderer(final Class<T> type, final String text) {
+        return new ArgumentRenderer<T>() {
+            @Override
+            public Class<T> getType() {
+                return type;
+            }
+
+            @Override
+            public void render(final StringBuilder builder, final T argument) {
+                builder.append(text);
+            }
+        };
+    }
+}
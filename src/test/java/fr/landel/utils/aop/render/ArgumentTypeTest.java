@@ -0,0 +1,85 @@
+/*
+ * #%L
+ * utils-aop
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.aop.render;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Color;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import fr.landel.utils.aop.observable.EnumTest;
+
+/**
+ * Check argument type
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public class ArgumentTypeTest {
+
+    /**
+     * Test method for {@link ArgumentType#of(Class)}.
+     */
+    @Test
+    public void testOf() {
+        assertEquals(ArgumentType.STRING, ArgumentType.of(String.class));
+        assertEquals(ArgumentType.CHARACTER, ArgumentType.of(Character.class));
+        assertEquals(ArgumentType.NUMBER, ArgumentType.of(Integer.class));
+        assertEquals(ArgumentType.NUMBER, ArgumentType.of(AtomicLong.class));
+        assertEquals(ArgumentType.BOOLEAN, ArgumentType.of(Boolean.class));
+        assertEquals(ArgumentType.ENUM, ArgumentType.of(EnumTest.class));
+        assertEquals(ArgumentType.ENUM, ArgumentType.of(TimeUnit.SECONDS.getClass()));
+        assertEquals(ArgumentType.DATE, ArgumentType.of(Date.class));
+        assertEquals(ArgumentType.DATE, ArgumentType.of(Timestamp.class));
+        assertEquals(ArgumentType.ARRAY, ArgumentType.of(String[].class));
+        assertEquals(ArgumentType.ARRAY, ArgumentType.of(int[].class));
+        assertEquals(ArgumentType.ITERABLE, ArgumentType.of(ArrayList.class));
+        assertEquals(ArgumentType.ITERABLE, ArgumentType.of(Collections.emptyIterator().getClass()));
+        assertEquals(ArgumentType.MAP, ArgumentType.of(HashMap.class));
+        assertEquals(ArgumentType.OBJECT, ArgumentType.of(Color.class));
+        assertEquals(ArgumentType.OBJECT, ArgumentType.of(Object.class));
+
+        // cached
+        assertSame(ArgumentType.of(Color.class), ArgumentType.of(Color.class));
+    }
+
+    /**
+     * Test method for {@link ArgumentType#isSimple()}.
+     */
+    @Test
+    public void testIsSimple() {
+        assertTrue(ArgumentType.STRING.isSimple());
+        assertTrue(ArgumentType.DATE.isSimple());
+        assertFalse(ArgumentType.ARRAY.isSimple());
+        assertFalse(ArgumentType.OBJECT.isSimple());
+    }
+}
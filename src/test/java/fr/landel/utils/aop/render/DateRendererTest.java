@@ -0,0 +1,150 @@
+/*
+ * #%L
+ * utils-aop
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.aop.render;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Check date renderer
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public class DateRendererTest {
+
+    private static final ZoneId ZONE = ZoneId.of("Europe/Paris");
+
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("uuuu/MM/dd HH:mm:ss.SSS");
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("uuuu/MM/dd");
+
+    private static final int THREADS = 64;
+    private static final int ITERATIONS = 20_000;
+
+    /**
+     * Test method for {@link DateRenderer#append(StringBuilder, Date)}.
+     */
+    @Test
+    public void testAppend() {
+        final DateRenderer renderer = new DateRenderer(ZONE);
+
+        assertEquals("2016/01/01 16:29:55.916", render(renderer, LocalDateTime.of(2016, 1, 1, 16, 29, 55, 916_000_000)));
+        assertEquals("2016/01/01", render(renderer, LocalDateTime.of(2016, 1, 1, 0, 0)));
+        assertEquals("2016/01/01 12:00:00.000", render(renderer, LocalDateTime.of(2016, 1, 1, 12, 0)));
+        assertEquals("2016/01/01 00:00:00.001", render(renderer, LocalDateTime.of(2016, 1, 1, 0, 0, 0, 1_000_000)));
+        assertEquals("0900/05/06 07:08:09.010", render(renderer, LocalDateTime.of(900, 5, 6, 7, 8, 9, 10_000_000)));
+        assertEquals("1969/12/31 23:59:59.999", render(renderer, LocalDateTime.of(1969, 12, 31, 23, 59, 59, 999_000_000)));
+
+        // around daylight saving time transitions
+        assertEquals("2018/03/25 01:59:59.999", render(renderer, LocalDateTime.of(2018, 3, 25, 1, 59, 59, 999_000_000)));
+        assertEquals("2018/03/25 03:00:00.000", render(renderer, LocalDateTime.of(2018, 3, 25, 3, 0)));
+        assertEquals("2018/10/28 02:30:00.000", render(renderer, LocalDateTime.of(2018, 10, 28, 2, 30)));
+
+        final StringBuilder builder = new StringBuilder("Date{");
+        renderer.append(builder, toDate(LocalDateTime.of(2016, 1, 1, 0, 0)));
+        assertEquals("Date{2016/01/01", builder.toString());
+    }
+
+    /**
+     * Test method for {@link DateRenderer#append(StringBuilder, long)} with
+     * many threads, to check that the per thread caches are never shared.
+     * 
+     * @throws InterruptedException
+     *             if interrupted
+     */
+    @Test
+    public void testAppendConcurrent() throws InterruptedException {
+        final DateRenderer renderer = new DateRenderer(ZONE);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        final CountDownLatch start = new CountDownLatch(1);
+        final CountDownLatch end = new CountDownLatch(THREADS);
+        final AtomicInteger errors = new AtomicInteger();
+
+        final long from = toDate(LocalDateTime.of(2000, 1, 1, 0, 0)).getTime();
+        final long to = toDate(LocalDateTime.of(2030, 1, 1, 0, 0)).getTime();
+
+        for (int t = 0; t < THREADS; t++) {
+            executor.execute(() -> {
+                final StringBuilder builder = new StringBuilder();
+                try {
+                    start.await();
+                    for (int i = 0; i < ITERATIONS; i++) {
+                        long millis = ThreadLocalRandom.current().nextLong(from, to);
+                        if (i % 3 == 0) {
+                            // midnight, date only
+                            millis = Instant.ofEpochMilli(millis).atZone(ZONE).toLocalDate().atStartOfDay(ZONE).toInstant().toEpochMilli();
+                        }
+
+                        builder.setLength(0);
+                        renderer.append(builder, millis);
+
+                        if (!expected(millis).equals(builder.toString())) {
+                            errors.incrementAndGet();
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    errors.incrementAndGet();
+                    Thread.currentThread().interrupt();
+                } finally {
+                    end.countDown();
+                }
+            });
+        }
+
+        start.countDown();
+        assertTrue(end.await(1, TimeUnit.MINUTES));
+        executor.shutdown();
+
+        assertEquals(0, errors.get());
+    }
+
+    private static String render(final DateRenderer renderer, final LocalDateTime dateTime) {
+        return renderer.format(toDate(dateTime));
+    }
+
+    private static Date toDate(final LocalDateTime dateTime) {
+        return Date.from(dateTime.atZone(ZONE).toInstant());
+    }
+
+    private static String expected(final long millis) {
+        final ZonedDateTime dateTime = Instant.ofEpochMilli(millis).atZone(ZONE);
+        if (dateTime.toLocalTime().toNanoOfDay() > 0) {
+            return DATE_TIME_FORMATTER.format(dateTime);
+        }
+        return DATE_FORMATTER.format(dateTime);
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * #%L
+ * utils-aop
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.aop.render;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Check primitive arrays rendering
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public class PrimitiveArraysTest {
+
+    private static final int MAX = 3;
+
+    /**
+     * Test method for
+     * {@link PrimitiveArrays#append(StringBuilder, Object, int, int, ByteArrayMode)}.
+     */
+    @Test
+    public void testAppend() {
+        assertEquals("[]", render(new int[0], ByteArrayMode.ELEMENTS));
+        assertEquals("[1, 2, 3]", render(new int[] {1, 2, 3}, ByteArrayMode.ELEMENTS));
+        assertEquals("[1, 2, 3…]", render(new int[] {1, 2, 3, 4}, ByteArrayMode.ELEMENTS));
+        assertEquals("[1, 2…]", render(new long[] {1L, 2L, 3L, 4L}, 2, ByteArrayMode.ELEMENTS));
+        assertEquals("[1.5, 2.0]", render(new double[] {1.5d, 2d}, ByteArrayMode.ELEMENTS));
+        assertEquals("[1.5, 2.0]", render(new float[] {1.5f, 2f}, ByteArrayMode.ELEMENTS));
+        assertEquals("[1, -2]", render(new short[] {1, -2}, ByteArrayMode.ELEMENTS));
+        assertEquals("[a, b]", render(new char[] {'a', 'b'}, ByteArrayMode.ELEMENTS));
+        assertEquals("[true, false]", render(new boolean[] {true, false}, ByteArrayMode.ELEMENTS));
+        assertEquals("[1, -1, 127…]", render(new byte[] {1, -1, 127, 0}, ByteArrayMode.ELEMENTS));
+
+        final StringBuilder builder = new StringBuilder();
+        assertFalse(PrimitiveArrays.append(builder, new String[] {"a"}, MAX, Integer.MAX_VALUE, ByteArrayMode.ELEMENTS));
+        assertEquals(0, builder.length());
+    }
+
+    /**
+     * Test method for {@link PrimitiveArrays#appendHex(StringBuilder, byte[], int, int)}.
+     */
+    @Test
+    public void testAppendHex() {
+        assertEquals("[length=0]", render(new byte[0], ByteArrayMode.HEX));
+        assertEquals("[length=3: 01ff7f]", render(new byte[] {1, -1, 127}, ByteArrayMode.HEX));
+        assertEquals("[length=1024: 000000…]", render(new byte[1024], ByteArrayMode.HEX));
+
+        // other arrays are not impacted by the byte array mode
+        assertEquals("[1, 2]", render(new int[] {1, 2}, ByteArrayMode.HEX));
+    }
+
+    /**
+     * Test method for
+     * {@link PrimitiveArrays#append(StringBuilder, Object, int, int, ByteArrayMode)}
+     * with a limited builder length.
+     */
+    @Test
+    public void testAppendLimit() {
+        final StringBuilder builder = new StringBuilder("abc");
+        PrimitiveArrays.append(builder, new int[] {100, 200, 300}, MAX, 10, ByteArrayMode.ELEMENTS);
+        assertEquals("abc[100, 200…]", builder.toString());
+
+        builder.setLength(0);
+        PrimitiveArrays.append(builder, new byte[] {1, 2, 3, 4}, 4, 14, ByteArrayMode.HEX);
+        assertEquals("[length=4: 0102…]", builder.toString());
+    }
+
+    private static String render(final Object array, final ByteArrayMode mode) {
+        return render(array, MAX, mode);
+    }
+
+    private static String render(final Object array, final int max, final ByteArrayMode mode) {
+        final StringBuilder builder = new StringBuilder();
+        assertTrue(PrimitiveArrays.append(builder, array, max, Integer.MAX_VALUE, mode));
+        return builder.toString();
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * #%L
+ * utils-aop
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.aop.render;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Check render context
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public class RenderContextTest {
+
+    /**
+     * Test method for {@link RenderContext#acquireBuilder()} and
+     * {@link RenderContext#releaseBuilder(StringBuilder)}.
+     */
+    @Test
+    public void testAcquireBuilder() {
+        final RenderContext context = RenderContext.get();
+
+        final StringBuilder builder = context.acquireBuilder();
+        builder.append("signature");
+
+        // reentrant call
+        final StringBuilder nested = context.acquireBuilder();
+        assertNotSame(builder, nested);
+        assertEquals(0, nested.length());
+        context.releaseBuilder(nested);
+
+        context.releaseBuilder(builder);
+
+        // pooled and cleared
+        final StringBuilder reused = context.acquireBuilder();
+        assertSame(builder, reused);
+        assertEquals(0, reused.length());
+
+        // too large, not kept
+        reused.ensureCapacity(RenderContext.MAX_POOLED_CAPACITY + 1);
+        context.releaseBuilder(reused);
+
+        final StringBuilder replaced = context.acquireBuilder();
+        assertNotSame(reused, replaced);
+        context.releaseBuilder(replaced);
+    }
+
+    /**
+     * Test method for {@link RenderContext#append(StringBuilder, Object)}.
+     */
+    @Test
+    public void testAppend() {
+        final RenderContext context = RenderContext.get();
+        final int limit = context.getLimit();
+        final boolean truncated = context.isTruncated();
+
+        try {
+            final StringBuilder builder = new StringBuilder("12");
+            context.setLimit(6);
+
+            context.append(builder, "ab");
+            assertEquals("12ab", builder.toString());
+            assertEquals(2, context.remaining(builder));
+            assertFalse(context.isExhausted(builder));
+
+            context.append(builder, (Object) null);
+            assertEquals("12abnu", builder.toString());
+            assertTrue(context.isTruncated());
+            assertTrue(context.isExhausted(builder));
+            assertEquals(0, context.remaining(builder));
+
+            context.setLimit(10);
+            assertFalse(context.isTruncated());
+            context.append(builder, Integer.valueOf(12345));
+            assertEquals("12abnu1234", builder.toString());
+            assertTrue(context.isTruncated());
+        } finally {
+            context.restore(limit, truncated);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * #%L
+ * utils-aop
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.aop.sampling;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.Signature;
+import org.junit.jupiter.api.Test;
+
+import fr.landel.utils.aop.signature.SignatureEntry;
+import fr.landel.utils.aop.signature.SignatureRegistry;
+
+/**
+ * Check sampler
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public class SamplerTest {
+
+    /**
+     * Test method for {@link Sampler#Sampler(SamplingMode, double)}.
+     */
+    @Test
+    public void testConstructor() {
+        assertEquals(SamplingMode.ALL, Sampler.ALL.getMode());
+        assertEquals(SamplingMode.ONE_IN_N, new Sampler(SamplingMode.ONE_IN_N, 10).getMode());
+        assertEquals(0.5, new Sampler(SamplingMode.PROBABILISTIC, 0.5).getRate());
+        assertEquals("RATE_LIMITED(100.0)", new Sampler(SamplingMode.RATE_LIMITED, 100).toString());
+
+        assertThrows(IllegalArgumentException.class, () -> new Sampler(SamplingMode.ONE_IN_N, 0));
+        assertThrows(IllegalArgumentException.class, () -> new Sampler(SamplingMode.ONE_IN_N, 2.5));
+        assertThrows(IllegalArgumentException.class, () -> new Sampler(SamplingMode.PROBABILISTIC, -0.1));
+        assertThrows(IllegalArgumentException.class, () -> new Sampler(SamplingMode.PROBABILISTIC, Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> new Sampler(SamplingMode.RATE_LIMITED, 0));
+        assertThrows(NullPointerException.class, () -> new Sampler(null, 1));
+    }
+
+    /**
+     * Test method for {@link Sampler#sample}.
+     */
+    @Test
+    public void testSample() {
+        assertTrue(Sampler.ALL.sample(null));
+
+        // counted per thread and per sampler
+        final Sampler oneIn = new Sampler(SamplingMode.ONE_IN_N, 4);
+        int sampled = 0;
+        for (int i = 0; i < 100; i++) {
+            if (oneIn.sample(null)) {
+                sampled++;
+            }
+        }
+        assertEquals(25, sampled);
+        assertFalse(new Sampler(SamplingMode.ONE_IN_N, 4).sample(null));
+        assertFalse(oneIn.sample(null));
+
+        // limited per signature
+        final Sampler limited = new Sampler(SamplingMode.RATE_LIMITED, 1);
+        final SignatureEntry entry = entry();
+        assertTrue(limited.sample(entry));
+        assertFalse(limited.sample(entry));
+        assertTrue(limited.sample(entry()));
+
+        assertTrue(new Sampler(SamplingMode.PROBABILISTIC, 1).sample(null));
+        assertFalse(new Sampler(SamplingMode.PROBABILISTIC, 0).sample(null));
+    }
+
+    private static SignatureEntry entry() {
+        final ClassLoader classLoader = SamplerTest.class.getClassLoader();
+        final Signature signature = (Signature) Proxy.newProxyInstance(classLoader, new Class<?>[] {Signature.class},
+                (proxy, method, args) -> "hashCode".equals(method.getName()) ? 0 : null);
+        final JoinPoint joinPoint = (JoinPoint) Proxy.newProxyInstance(classLoader, new Class<?>[] {JoinPoint.class},
+                (proxy, method, args) -> "getSignature".equals(method.getName()) ? signature : new Object());
+
+        // a registry without capacity only returns its overflow entry
+        return new SignatureRegistry(0).get(joinPoint);
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * #%L
+ * utils-aop
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.aop.sampling;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Check token bucket
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public class TokenBucketTest {
+
+    /**
+     * Test method for {@link TokenBucket#tryAcquire(long, RateLimit)}.
+     */
+    @Test
+    public void testTryAcquire() {
+        // one permit each 100 ms, 3 at once
+        final RateLimit limit = new RateLimit(10, 3);
+        final TokenBucket bucket = new TokenBucket();
+        final long now = System.nanoTime();
+        final long interval = TimeUnit.MILLISECONDS.toNanos(100);
+
+        assertTrue(bucket.tryAcquire(now, limit));
+        assertTrue(bucket.tryAcquire(now, limit));
+        assertTrue(bucket.tryAcquire(now, limit));
+        assertFalse(bucket.tryAcquire(now, limit));
+        assertFalse(bucket.tryAcquire(now + interval / 2, limit));
+        assertEquals(2, bucket.getSuppressed());
+
+        // one permit back
+        assertTrue(bucket.tryAcquire(now + interval, limit));
+        assertFalse(bucket.tryAcquire(now + interval, limit));
+
+        assertEquals(3, bucket.drainSuppressed());
+        assertEquals(0, bucket.drainSuppressed());
+
+        // the burst is restored after idling
+        final long later = now + 10 * interval;
+        assertTrue(bucket.tryAcquire(later, limit));
+        assertTrue(bucket.tryAcquire(later, limit));
+        assertTrue(bucket.tryAcquire(later, limit));
+        assertFalse(bucket.tryAcquire(later, limit));
+    }
+
+    /**
+     * Test method for {@link RateLimit#RateLimit(double, int)}.
+     */
+    @Test
+    public void testRateLimit() {
+        final RateLimit limit = new RateLimit(0.5, 2);
+        assertEquals(0.5, limit.getPermitsPerSecond());
+        assertEquals(2, limit.getBurst());
+        assertEquals(TimeUnit.SECONDS.toNanos(2), limit.getInterval());
+        assertEquals(TimeUnit.SECONDS.toNanos(2), limit.getTolerance());
+        assertEquals("0.5/s (burst: 2)", limit.toString());
+
+        assertThrows(IllegalArgumentException.class, () -> new RateLimit(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new RateLimit(1, 0));
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * #%L
+ * utils-aop
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.aop.signature;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import fr.landel.utils.aop.annotation.Profiled;
+
+/**
+ * Check signature entry
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public class SignatureEntryTest {
+
+    /**
+     * Test method for {@link SignatureEntry#resolveThreshold(Class, java.lang.reflect.Method)}.
+     * 
+     * @throws NoSuchMethodException
+     *             if the method doesn't exist
+     */
+    @Test
+    public void testResolveThreshold() throws NoSuchMethodException {
+        assertEquals(SignatureEntry.UNDEFINED_THRESHOLD,
+                SignatureEntry.resolveThreshold(Service.class, Service.class.getMethod("undefined")));
+
+        // method
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(20), SignatureEntry.resolveThreshold(Service.class, Service.class.getMethod("method")));
+
+        // implementation in the target class
+        assertEquals(TimeUnit.SECONDS.toNanos(2), SignatureEntry.resolveThreshold(BatchService.class, Service.class.getMethod("method")));
+
+        // target class
+        assertEquals(TimeUnit.MINUTES.toNanos(1), SignatureEntry.resolveThreshold(BatchService.class, Service.class.getMethod("undefined")));
+
+        // declaring class
+        assertEquals(TimeUnit.MICROSECONDS.toNanos(500),
+                SignatureEntry.resolveThreshold(ApiService.class, AnnotatedService.class.getMethod("inherited")));
+        assertEquals(TimeUnit.MICROSECONDS.toNanos(500), SignatureEntry.resolveThreshold(ApiService.class, ApiService.class.getMethod("marker")));
+    }
+
+    /**
+     * Service without class annotation
+     */
+    public static class Service {
+
+        /**
+         * Without threshold
+         */
+        public void undefined() {
+            // test method
+        }
+
+        /**
+         * With threshold
+         */
+        @Profiled(threshold = 20)
+        public void method() {
+            // test method
+        }
+    }
+
+    /**
+     * Service with class threshold
+     */
+    @Profiled(threshold = 1, unit = TimeUnit.MINUTES)
+    public static class BatchService extends Service {
+
+        @Override
+        @Profiled(threshold = 2, unit = TimeUnit.SECONDS)
+        public void method() {
+            // test method
+        }
+    }
+
+    /**
+     * Service with class threshold
+     */
+    @Profiled(threshold = 500, unit = TimeUnit.MICROSECONDS)
+    public static class AnnotatedService {
+
+        /**
+         * Without method threshold
+         */
+        public void inherited() {
+            // test method
+        }
+    }
+
+    /**
+     * Service with inherited class threshold
+     */
+    public static class ApiService extends AnnotatedService {
+
+        /**
+         * Annotated without threshold
+         */
+        @Profiled
+        public void marker() {
+            // test method
+        }
+    }
+}
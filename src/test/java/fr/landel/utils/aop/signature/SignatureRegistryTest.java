@@ -0,0 +1,158 @@
+/*
+ * #%L
+ * utils-aop
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.aop.signature;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Check signature registry
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public class SignatureRegistryTest {
+
+    /**
+     * Test method for {@link SignatureRegistry#get(JoinPoint)}.
+     * 
+     * @throws NoSuchMethodException
+     *             if the method doesn't exist
+     */
+    @Test
+    public void testGet() throws NoSuchMethodException {
+        final Service service = new Service();
+        final Method utilDate = Service.class.getMethod("date", java.util.Date.class);
+        final Method sqlDate = Service.class.getMethod("date", java.sql.Date.class);
+
+        final SignatureRegistry registry = new SignatureRegistry();
+        final SignatureEntry entry = registry.get(joinPoint(service, utilDate));
+        assertSame(entry, registry.get(joinPoint(service, utilDate)));
+        assertEquals(Service.class.getName() + ".date(java.util.Date)", entry.getName());
+
+        // overloads with the same simple names
+        final SignatureEntry overload = registry.get(joinPoint(service, sqlDate));
+        assertEquals(Service.class.getName() + ".date(java.sql.Date)", overload.getName());
+        assertNotEquals(entry.getName(), overload.getName());
+        assertEquals(2, registry.size());
+    }
+
+    /**
+     * Test method for {@link SignatureRegistry#get(JoinPoint)} beyond the
+     * capacity.
+     * 
+     * @throws NoSuchMethodException
+     *             if the method doesn't exist
+     */
+    @Test
+    public void testGetOverflow() throws NoSuchMethodException {
+        final Service service = new Service();
+        final Method utilDate = Service.class.getMethod("date", java.util.Date.class);
+        final Method sqlDate = Service.class.getMethod("date", java.sql.Date.class);
+        final Method other = Service.class.getMethod("other");
+
+        final SignatureRegistry registry = new SignatureRegistry(1);
+        final SignatureEntry entry = registry.get(joinPoint(service, utilDate));
+        assertFalse(entry.isOverflow());
+        assertEquals(1, registry.getEntries().size());
+
+        // one shared entry beyond the capacity
+        final SignatureEntry overflow = registry.get(joinPoint(service, sqlDate));
+        assertTrue(overflow.isOverflow());
+        assertEquals(SignatureRegistry.OVERFLOW_NAME, overflow.getName());
+        assertSame(overflow, registry.get(joinPoint(service, other)));
+        assertSame(overflow, registry.get(joinPoint(service, sqlDate)));
+        assertSame(entry, registry.get(joinPoint(service, utilDate)));
+
+        assertEquals(1, registry.size());
+        assertEquals(2, registry.getEntries().size());
+    }
+
+    private static JoinPoint joinPoint(final Object target, final Method method) {
+        final ClassLoader classLoader = SignatureRegistryTest.class.getClassLoader();
+        final MethodSignature signature = (MethodSignature) Proxy.newProxyInstance(classLoader, new Class<?>[] {MethodSignature.class},
+                (proxy, invoked, args) -> {
+                    switch (invoked.getName()) {
+                    case "getMethod":
+                        return method;
+                    case "getName":
+                        return method.getName();
+                    case "getDeclaringType":
+                        return method.getDeclaringClass();
+                    case "getParameterTypes":
+                        return method.getParameterTypes();
+                    default:
+                        return null;
+                    }
+                });
+        return (JoinPoint) Proxy.newProxyInstance(classLoader, new Class<?>[] {JoinPoint.class}, (proxy, invoked, args) -> {
+            switch (invoked.getName()) {
+            case "getSignature":
+                return signature;
+            case "getTarget":
+                return target;
+            case "toShortString":
+                return "execution(" + method.getName() + "(..))";
+            default:
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Service with overloads
+     */
+    public static class Service {
+
+        /**
+         * @param date
+         *            a date
+         */
+        public void date(final java.util.Date date) {
+            // test method
+        }
+
+        /**
+         * @param date
+         *            a SQL date
+         */
+        public void date(final java.sql.Date date) {
+            // test method
+        }
+
+        /**
+         * Other method
+         */
+        public void other() {
+            // test method
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * #%L
+ * utils-aop
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.aop.stats;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Check call tree
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public class CallTreeTest {
+
+    /**
+     * Test method for {@link CallTree#enter(SignatureStatistics)} and
+     * {@link CallTree#exit(long)}.
+     */
+    @Test
+    public void testEnterExit() {
+        final SignatureStatistics a = new SignatureStatistics("A.a()");
+        final SignatureStatistics b = new SignatureStatistics("B.b()");
+        final SignatureStatistics c = new SignatureStatistics("C.c()");
+
+        final CallTree tree = new CallTree(2, 2);
+
+        // a(b(c), b), a(c)
+        tree.enter(a);
+        tree.enter(b);
+        tree.enter(c);
+        tree.exit(1_000_000L);
+        tree.exit(3_000_000L);
+        tree.enter(b);
+        tree.exit(2_000_000L);
+        tree.exit(10_000_000L);
+
+        tree.enter(a);
+        tree.enter(c);
+        tree.exit(4_000_000L);
+        tree.exit(5_000_000L);
+
+        assertEquals(2, tree.getNodeCount());
+        // c below the maximum depth, a.c beyond the maximum nodes
+        assertEquals(2, tree.getDropped());
+
+        final List<CallTreeNode> roots = tree.getRoot().getChildren();
+        assertEquals(1, roots.size());
+        final CallTreeNode nodeA = roots.get(0);
+        assertEquals("A.a()", nodeA.getName());
+        assertEquals(1, nodeA.getDepth());
+        assertEquals(2, nodeA.getCount());
+        assertEquals(15_000_000L, nodeA.getTotalTime());
+        assertEquals(6_000_000L, nodeA.getSelfTime());
+
+        final CallTreeNode nodeB = nodeA.getChildren().get(0);
+        assertEquals("B.b()", nodeB.getName());
+        assertEquals(2, nodeB.getCount());
+        assertEquals(5_000_000L, nodeB.getTotalTime());
+        assertEquals(4_000_000L, nodeB.getSelfTime());
+        assertEquals(1, nodeA.getChildren().size());
+        assertEquals(0, nodeB.getChildren().size());
+
+        // signatures record all calls
+        assertEquals(15_000_000L, a.getTotalTime());
+        assertEquals(6_000_000L, a.getSelfTime());
+        assertEquals(5_000_000L, b.getTotalTime());
+        assertEquals(4_000_000L, b.getSelfTime());
+        assertEquals(5_000_000L, c.getTotalTime());
+        assertEquals(5_000_000L, c.getSelfTime());
+
+        final String lineSeparator = System.lineSeparator();
+        assertEquals("A.a(): count=2, total=15.000 ms, self=6.000 ms" + lineSeparator + "  B.b(): count=2, total=5.000 ms, self=4.000 ms"
+                + lineSeparator + "2 calls not in the tree (maximum depth: 2, maximum nodes: 2)", tree.toString());
+
+        assertThrows(IllegalArgumentException.class, () -> new CallTree(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new CallTree(1, 0));
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * #%L
+ * utils-aop
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.aop.stats;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Check latency histogram
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public class LatencyHistogramTest {
+
+    /**
+     * Test method for {@link LatencyHistogram#index(long)},
+     * {@link LatencyHistogram#lowestValue(int)} and
+     * {@link LatencyHistogram#highestValue(int)}.
+     */
+    @Test
+    public void testBuckets() {
+        assertEquals(0, LatencyHistogram.index(0));
+        assertEquals(15, LatencyHistogram.index(15));
+        assertEquals(16, LatencyHistogram.index(16));
+        assertEquals(16, LatencyHistogram.index(17));
+        assertEquals(17, LatencyHistogram.index(18));
+        assertEquals(LatencyHistogram.BUCKET_COUNT - 1, LatencyHistogram.index(LatencyHistogram.MAX_VALUE));
+
+        long previous = -1;
+        for (int i = 0; i < LatencyHistogram.BUCKET_COUNT; i++) {
+            final long lowest = LatencyHistogram.lowestValue(i);
+            final long highest = LatencyHistogram.highestValue(i);
+
+            // contiguous buckets
+            assertEquals(previous + 1, lowest);
+            assertEquals(i, LatencyHistogram.index(lowest));
+            assertEquals(i, LatencyHistogram.index(highest));
+            // relative error under 12.5%
+            assertTrue(highest - lowest <= lowest / LatencyHistogram.SUB_BUCKETS);
+
+            previous = highest;
+        }
+        assertEquals(LatencyHistogram.MAX_VALUE, previous);
+    }
+
+    /**
+     * Test method for {@link LatencyHistogram#record(long)} and
+     * {@link HistogramSnapshot}.
+     */
+    @Test
+    public void testRecord() {
+        final LatencyHistogram histogram = new LatencyHistogram(1);
+
+        assertEquals(0, histogram.snapshot().getCount());
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.snapshot().getP99());
+
+        for (int i = 1; i <= 1_000; i++) {
+            histogram.record(i * 1_000L);
+        }
+        histogram.record(-1);
+
+        final HistogramSnapshot snapshot = histogram.snapshot();
+        assertEquals(1_001, snapshot.getCount());
+        assertEquals(1_001, histogram.getCount());
+        assertEquals(500_500_000L, snapshot.getTotal());
+        assertEquals(1_000_000L, snapshot.getMax());
+        assertEquals(1, snapshot.getBucketCount(0));
+
+        assertPercentile(500_000L, snapshot.getP50());
+        assertPercentile(900_000L, snapshot.getP90());
+        assertPercentile(990_000L, snapshot.getP99());
+        assertPercentile(999_000L, snapshot.getP999());
+        assertEquals(1_000_000L, snapshot.getValueAtPercentile(100));
+        assertEquals(0, snapshot.getValueAtPercentile(0));
+
+        assertThrows(IllegalArgumentException.class, () -> snapshot.getValueAtPercentile(101));
+
+        // values over the maximum
+        histogram.record(Long.MAX_VALUE);
+        assertEquals(Long.MAX_VALUE, histogram.snapshot().getMax());
+        assertEquals(1, histogram.snapshot().getBucketCount(LatencyHistogram.BUCKET_COUNT - 1));
+    }
+
+    private static void assertPercentile(final long expected, final long actual) {
+        assertTrue(actual >= expected && actual <= expected + expected / LatencyHistogram.SUB_BUCKETS, expected + " != " + actual);
+    }
+
+    /**
+     * Test method for {@link LatencyHistogram#record(long)} (concurrent).
+     * 
+     * @throws InterruptedException
+     *             on interruption
+     */
+    @Test
+    public void testRecordConcurrent() throws InterruptedException {
+        final int threads = 64;
+        final int calls = 10_000;
+        final LatencyHistogram histogram = new LatencyHistogram(threads);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        final CountDownLatch start = new CountDownLatch(1);
+        for (int i = 0; i < threads; i++) {
+            final long value = i + 1;
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    for (int j = 0; j < calls; j++) {
+                        histogram.record(value);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+
+        final HistogramSnapshot snapshot = histogram.snapshot();
+        assertEquals((long) threads * calls, snapshot.getCount());
+        assertEquals((long) calls * threads * (threads + 1) / 2, snapshot.getTotal());
+        assertEquals(threads, snapshot.getMax());
+    }
+}
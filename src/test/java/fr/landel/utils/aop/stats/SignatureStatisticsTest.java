@@ -0,0 +1,89 @@
+/*
+ * #%L
+ * utils-aop
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.aop.stats;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Check signature statistics
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public class SignatureStatisticsTest {
+
+    /**
+     * Test method for {@link SignatureStatistics#reset()}.
+     */
+    @Test
+    public void testReset() {
+        final SignatureStatistics statistics = new SignatureStatistics("A.a()");
+
+        // nothing recorded
+        assertSame(HistogramSnapshot.EMPTY, statistics.getLatencies());
+        assertEquals(0, statistics.getCancellations());
+        assertEquals(0, statistics.getCpuTime());
+        assertEquals(0, statistics.getBlockedCount());
+        assertEquals(0, statistics.getSelfTime());
+        assertNull(statistics.rollWindow());
+
+        statistics.record(1_000L);
+        statistics.recordError();
+        statistics.recordCancellation();
+        statistics.recordElements(3);
+        statistics.recordResources(2_000L, 64L);
+        statistics.recordContention(1, 5, 2, 10);
+        statistics.recordSpan(1_000L, 400L);
+        statistics.getWindow().record(1_000L, true);
+
+        assertEquals(1, statistics.getLatencies().getCount());
+        assertEquals(1, statistics.getCount());
+        assertEquals(1, statistics.getErrors());
+        assertEquals(1, statistics.getCancellations());
+        assertEquals(3, statistics.getElements());
+        assertEquals(1, statistics.getResourceCalls());
+        assertEquals(64L, statistics.getAllocatedBytes());
+        assertEquals(10, statistics.getWaitedTime());
+        assertEquals(400L, statistics.getSelfTime());
+
+        statistics.reset();
+
+        assertEquals(0, statistics.getLatencies().getCount());
+        assertEquals(0, statistics.getCount());
+        assertEquals(0, statistics.getErrors());
+        assertEquals(0, statistics.getElements());
+        assertEquals(0, statistics.getResourceCalls());
+        assertEquals(0, statistics.getWaitedTime());
+        assertEquals(0, statistics.getTotalTime());
+
+        // the current window is kept
+        final WindowSnapshot window = statistics.rollWindow();
+        assertEquals(1, window.getCount());
+        assertEquals(1, window.getErrors());
+
+        statistics.record(2_000L);
+        assertEquals(1, statistics.getLatencies().getCount());
+    }
+}
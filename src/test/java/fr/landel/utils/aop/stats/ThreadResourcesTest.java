@@ -0,0 +1,112 @@
+/*
+ * #%L
+ * utils-aop
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.aop.stats;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ThreadInfo;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Check thread resources
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public class ThreadResourcesTest {
+
+    private static final int SIZE = 1_000_000;
+
+    /**
+     * Test method for {@link ThreadResources#getAllocatedBytes()} and
+     * {@link ThreadResources#getCpuTime()}.
+     */
+    @Test
+    public void testMeasures() {
+        final boolean cpuTime = ThreadResources.enableCpuTime();
+        final boolean allocatedBytes = ThreadResources.enableAllocatedBytes();
+        assertEquals(cpuTime, ThreadResources.isCpuTimeEnabled());
+        assertEquals(allocatedBytes, ThreadResources.isAllocatedBytesEnabled());
+
+        final long cpuStart = ThreadResources.getCpuTime();
+        final long allocatedStart = ThreadResources.getAllocatedBytes();
+
+        final byte[] bytes = new byte[SIZE];
+        assertNotNull(bytes);
+
+        final long cpu = ThreadResources.delta(cpuStart, ThreadResources.getCpuTime());
+        final long allocated = ThreadResources.delta(allocatedStart, ThreadResources.getAllocatedBytes());
+
+        if (cpuTime) {
+            assertTrue(cpu >= 0);
+        } else {
+            assertEquals(ThreadResources.UNSUPPORTED, cpu);
+        }
+        if (allocatedBytes) {
+            assertTrue(allocated >= SIZE, String.valueOf(allocated));
+        } else {
+            assertEquals(ThreadResources.UNSUPPORTED, allocated);
+        }
+    }
+
+    /**
+     * Test method for {@link ThreadResources#delta(long, long)}.
+     */
+    @Test
+    public void testDelta() {
+        assertEquals(5, ThreadResources.delta(10, 15));
+        assertEquals(0, ThreadResources.delta(10, 5));
+        assertEquals(ThreadResources.UNSUPPORTED, ThreadResources.delta(ThreadResources.UNSUPPORTED, 15));
+        assertEquals(ThreadResources.UNSUPPORTED, ThreadResources.delta(10, ThreadResources.UNSUPPORTED));
+    }
+
+    /**
+     * Test method for {@link ThreadResources#enableContention()} and
+     * {@link ThreadResources#getThreadInfo()}.
+     * 
+     * @throws InterruptedException
+     *             If sleep failed
+     */
+    @Test
+    public void testContention() throws InterruptedException {
+        final boolean enabled = ThreadResources.enableContention();
+
+        final ThreadInfo start = ThreadResources.getThreadInfo();
+        assertNotNull(start);
+        assertEquals(Thread.currentThread().getId(), start.getThreadId());
+        if (!enabled) {
+            assertEquals(ThreadResources.UNSUPPORTED, start.getWaitedTime());
+        }
+
+        synchronized (this) {
+            this.wait(20);
+        }
+
+        final ThreadInfo end = ThreadResources.getThreadInfo();
+        assertEquals(start.getWaitedCount() + 1, end.getWaitedCount());
+        if (enabled) {
+            assertTrue(end.getWaitedTime() >= start.getWaitedTime());
+        }
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * #%L
+ * utils-aop
+ * %%
+ * Copyright (C) 2016 - 2018 Gilles Landel
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package fr.landel.utils.aop.stats;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Check window aggregate
+ *
+ * @since Oct 18, 2026
+ * @author Gilles
+ *
+ */
+public class WindowAggregateTest {
+
+    /**
+     * Test method for {@link WindowAggregate#record(long, boolean)} and
+     * {@link WindowAggregate#roll()}.
+     */
+    @Test
+    public void testRoll() {
+        final WindowAggregate aggregate = new WindowAggregate();
+
+        aggregate.record(1_500_000L, false);
+        aggregate.record(250_000L, true);
+        aggregate.record(10_020_000L, false);
+
+        WindowSnapshot window = aggregate.roll();
+        assertEquals(3, window.getCount());
+        assertEquals(11_770_000L, window.getTotal());
+        assertEquals(250_000L, window.getMin());
+        assertEquals(10_020_000L, window.getMax());
+        assertEquals(1, window.getErrors());
+        assertEquals("count=3, errors=1, min=0.250 ms, mean=3.923 ms, max=10.020 ms", window.toString());
+
+        // new window
+        window = aggregate.roll();
+        assertEquals(0, window.getCount());
+        assertEquals(0, window.getMin());
+        assertEquals(0, window.getMax());
+        assertEquals("count=0, errors=0, min=0.000 ms, mean=0.000 ms, max=0.000 ms", window.toString());
+
+        aggregate.record(7_000L, false);
+        window = aggregate.roll();
+        assertEquals(7_000L, window.getMin());
+        assertEquals("count=1, errors=0, min=0.007 ms, mean=0.007 ms, max=0.007 ms", window.toString());
+    }
+}